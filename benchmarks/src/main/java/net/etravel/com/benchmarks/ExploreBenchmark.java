@@ -0,0 +1,102 @@
+package net.etravel.com.benchmarks;
+
+import net.etravel.com.solvers.DepthFirstSearch;
+import net.etravel.com.solvers.MazePreprocessor;
+import net.etravel.com.solvers.SolutionStore;
+import net.etravel.com.structure.CellGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exploration of a maze as the wanderer does it, without the logging and the UI.
+ * The number of paths grows exponentially with the size, so the sizes are kept small
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExploreBenchmark {
+
+    @Param({"6", "7", "8"})
+    public int size;
+
+    @Param({"0.2", "0.3"})
+    public double obstacleRatio;
+
+    @Param({"42"})
+    public long seed;
+
+    private CellGrid grid;
+    private CellGrid searchGrid;
+
+    @Setup
+    public void setup() {
+        grid = Mazes.solvable(size, obstacleRatio, seed);
+        MazePreprocessor preprocessor = new MazePreprocessor(grid);
+        preprocessor.run();
+        searchGrid = preprocessor.getSearchGrid();
+    }
+
+    /**
+     * Enumerates and stores every solution, like the "all" solver mode
+     */
+    @Benchmark
+    public long exploreAll() {
+        final SolutionStore solutions = new SolutionStore(grid, true);
+        new DepthFirstSearch(searchGrid).explore(grid.getStartingCell(), new Callback(solutions));
+        return solutions.getNumberOfSolutions();
+    }
+
+    /**
+     * Looks for the optimal solution by pruning the paths that cannot beat the best one, like the "optimal" solver mode
+     */
+    @Benchmark
+    public int exploreOptimal() {
+        AtomicInteger bound = new AtomicInteger(Integer.MAX_VALUE);
+        DepthFirstSearch search = new DepthFirstSearch(searchGrid);
+        search.setBound(bound);
+        search.explore(grid.getStartingCell(), new Callback(null));
+        return bound.get();
+    }
+
+    /**
+     * Callback passing the solutions to a store and ignoring the moves
+     */
+    private static class Callback implements DepthFirstSearch.SearchCallback {
+
+        private final SolutionStore solutions;
+
+        Callback(SolutionStore solutions) {
+            this.solutions = solutions;
+        }
+
+        @Override
+        public void onMove(int fromCell, int toCell) {
+        }
+
+        @Override
+        public void onSolution(int[] path, int length) {
+            if (solutions != null) {
+                solutions.accept(path, length);
+            }
+        }
+
+        @Override
+        public void onDeadEnd(int cell) {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package net.etravel.com.benchmarks;
+
+import net.etravel.com.controllers.Maze;
+import net.etravel.com.structure.CellGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the random maze generation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeGenerationBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int size;
+
+    @Param({"0.1", "0.25", "0.4"})
+    public double obstacleRatio;
+
+    @Param({"42"})
+    public long seed;
+
+    private int obstacles;
+
+    @Setup
+    public void setup() {
+        obstacles = Mazes.obstacles(size, obstacleRatio);
+    }
+
+    @Benchmark
+    public CellGrid populate() {
+        return Maze.generate(size, size, obstacles, new Random(seed));
+    }
+}
@@ -0,0 +1,41 @@
+package net.etravel.com.benchmarks;
+
+import net.etravel.com.controllers.Maze;
+import net.etravel.com.solvers.MazePreprocessor;
+import net.etravel.com.structure.CellGrid;
+
+import java.util.Random;
+
+/**
+ * Fixed mazes shared by the benchmarks
+ */
+final class Mazes {
+
+    private Mazes() {
+    }
+
+    /**
+     * @return the number of obstacles of a square maze with the given obstacle ratio, as Maze computes it
+     */
+    static int obstacles(int size, double obstacleRatio) {
+        return (int) Math.round(size * size * obstacleRatio);
+    }
+
+    /**
+     * Generates the first solvable maze starting from the seed, so every run benchmarks the same maze
+     * @param size the number of rows and columns
+     * @param obstacleRatio the ratio of the cells that are obstacles
+     * @param seed the seed of the first maze tried
+     * @return the cells of the maze
+     */
+    static CellGrid solvable(int size, double obstacleRatio, long seed) {
+        for (long s = seed; ; s++) {
+            CellGrid grid = Maze.generate(size, size, obstacles(size, obstacleRatio), new Random(s));
+            MazePreprocessor preprocessor = new MazePreprocessor(grid);
+            preprocessor.run();
+            if (preprocessor.isSolvable()) {
+                return grid;
+            }
+        }
+    }
+}
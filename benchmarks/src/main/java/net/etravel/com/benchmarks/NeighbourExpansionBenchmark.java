@@ -0,0 +1,58 @@
+package net.etravel.com.benchmarks;
+
+import net.etravel.com.structure.CellGrid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Expansion of the free neighbours of every cell, the inner loop of every solver
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighbourExpansionBenchmark {
+
+    @Param({"64", "512"})
+    public int size;
+
+    @Param({"0.1", "0.25"})
+    public double obstacleRatio;
+
+    @Param({"42"})
+    public long seed;
+
+    private CellGrid grid;
+
+    @Setup
+    public void setup() {
+        grid = Mazes.solvable(size, obstacleRatio, seed);
+    }
+
+    @Benchmark
+    public int expandNeighbours() {
+        int freeNeighbours = 0;
+        for (int cell = 0; cell < grid.size(); cell++) {
+            for (int direction = 0; direction < CellGrid.DIRECTIONS; direction++) {
+                int next = grid.neighbour(cell, direction);
+                if (next != -1 && !grid.isObstacle(next)) {
+                    freeNeighbours++;
+                }
+            }
+        }
+        return freeNeighbours;
+    }
+}
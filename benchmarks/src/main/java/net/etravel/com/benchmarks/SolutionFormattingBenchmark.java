@@ -0,0 +1,52 @@
+package net.etravel.com.benchmarks;
+
+import net.etravel.com.controllers.Maze;
+import net.etravel.com.controllers.Wanderer;
+import net.etravel.com.solvers.BreadthFirstSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting of the optimal solution into its human-readable string
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolutionFormattingBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int size;
+
+    @Param({"0.25"})
+    public double obstacleRatio;
+
+    @Param({"42"})
+    public long seed;
+
+    private int[] solution;
+
+    @Setup
+    public void setup() {
+        Maze.getMaze().initMaze(Mazes.solvable(size, obstacleRatio, seed));
+        solution = new BreadthFirstSolver().solve(Maze.getMaze().getGrid());
+    }
+
+    @Benchmark
+    public String constructDisplayableSolution() {
+        return Wanderer.getWanderer().constructDisplayableSolution(solution);
+    }
+}
@@ -1,201 +1,272 @@
 package net.etravel.com.controllers;
 
-import javafx.beans.binding.MapExpression;
 import net.etravel.com.properties.PropertyReader;
-import net.etravel.com.resources.ResourceManager;
-import net.etravel.com.structure.*;
+import net.etravel.com.solvers.SolutionStore;
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntList;
+import net.etravel.com.structure.IntRingBuffer;
 import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.swt.SWT;
-import org.eclipse.swt.graphics.Color;
-import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
-import org.eclipse.swt.widgets.Label;
 
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Singleton controller responsible for all UI operations
+ * Singleton controller responsible for all UI operations.
+ * Registered as the listener of the maze, so the maze and the wanderer never depend on SWT
  */
-public class DisplayController {
+public class DisplayController implements MazeListener {
 
     // singleton
     private final static DisplayController instance = new DisplayController();
     /**
-     * The GUI represantation of the maze
+     * The GUI represantation of the maze, a single canvas whatever the size of the maze
      */
-    private final ConcurrentHashMap<String, Label> guiNodes;
+    private MazeCanvas mazeCanvas = null;
+
+    private int previousPaintedCell = -1;
     /**
-     * the parent UI component of maze
+     * Time between two frames painting the visited cells (in millis), about 60 frames per second
      */
-    private Composite guiCanvas = null;
-
-    private String previousPaintedNodeKey = "";
+    private static final int FRAME_TIME = 16;
+    /**
+     * Cells visited by the solver threads and not painted yet
+     */
+    private final IntRingBuffer visitedCells = new IntRingBuffer(1 << 14);
+    /**
+     * true while a frame painting the visited cells is scheduled
+     */
+    private final AtomicBoolean frameScheduled = new AtomicBoolean(false);
+    /**
+     * Cells of the frame being painted, only used by the UI thread
+     */
+    private final IntList frameCells = new IntList();
 
     /**
-     * Predefined colors of tiles
+     * Predefined colors of tiles. Plain RGB values, so no Display is needed until the maze is painted
      */
-    private final Color startPointColor = ResourceManager.getColor(245, 155, 66);
-    private final Color endingPointColor = ResourceManager.getColor(135, 245, 66);
-    private final Color visitedTileColor = ResourceManager.getColor(134, 163, 147);
+    private static final RGB TILE_COLOR = new RGB(255, 255, 255);
+    private static final RGB OBSTACLE_COLOR = new RGB(0, 0, 0);
+    private static final RGB START_POINT_COLOR = new RGB(245, 155, 66);
+    private static final RGB ENDING_POINT_COLOR = new RGB(135, 245, 66);
+    private static final RGB VISITED_TILE_COLOR = new RGB(134, 163, 147);
+    private static final RGB PREVIOUS_TILE_COLOR = new RGB(192, 192, 192);
 
 
     private DisplayController() {
-        guiNodes = new ConcurrentHashMap<>();
     }
 
     public static DisplayController getDisplayController() {
         return instance;
     }
 
+    @Override
+    public void cellChanged(int cell) {
+        updateGuiNode(cell);
+    }
+
+    @Override
+    public void tilesReset() {
+        repaintTiles();
+    }
+
+    @Override
+    public void cellVisited(int cell) {
+        paintVisitedTile(cell);
+    }
+
+    @Override
+    public void optimalSolutionFound(int[] optimalSolution) {
+        paintOptimalSolution(optimalSolution);
+    }
+
+    @Override
+    public void explorationFinished(boolean foundSolution, SolutionStore solutions, int[] optimalSolution) {
+        showResultMessage(foundSolution, solutions, optimalSolution);
+    }
 
     /**
-     * Initializes the GUI of maze and storing each node in a map structure
+     * Initializes the GUI of maze, creating the canvas the maze is painted on the first time
      * @param parent The UI component on which the maze will be painted
      */
     public void initMazeGui(Composite parent) {
         Display.getDefault().syncExec(() -> {
-            guiCanvas = parent;
-            disposeMazeGui();
-            int col  = 0;
-            int row = 0;
-            for(int i = 0; i < Maze.matrixSize; i++) {
-
-                if(col == Maze.colSize) {
-                    col = 0;
-                    row++;
-                }
-                Label lbl = new Label(parent, SWT.BORDER);
-                GridData data = new GridData(SWT.FILL, SWT.FILL, true, true);
-                data.grabExcessVerticalSpace = true;
-                lbl.setLayoutData(data);
-                lbl.setAlignment(SWT.CENTER);
-                lbl.setBackground(ResourceManager.getColor(SWT.COLOR_WHITE));
-                lbl.setText(row + "|" + col);
-                lbl.setData(row + "|" + col);
-                guiNodes.put((String) lbl.getData(), lbl);
-                col++;
+            if (mazeCanvas == null || mazeCanvas.isDisposed()) {
+                mazeCanvas = new MazeCanvas(parent);
+                parent.layout();
             }
-            parent.redraw();
-            parent.layout();
+            previousPaintedCell = -1;
+            visitedCells.clear();
+            mazeCanvas.setMaze(Maze.rowSize, Maze.colSize);
         });
 
     }
 
+    /**
+     * @return the canvas of the maze sized for the current maze, null if there is no canvas
+     */
+    private MazeCanvas getMazeCanvas(CellGrid grid) {
+        if (mazeCanvas == null || mazeCanvas.isDisposed() || grid == null) {
+            return null;
+        }
+        if (!mazeCanvas.hasSize(grid.getRows(), grid.getCols())) {
+            mazeCanvas.setMaze(grid.getRows(), grid.getCols());
+        }
+        return mazeCanvas;
+    }
+
+    /**
+     * @return the color of a cell that is not visited
+     */
+    private static RGB getCellColor(CellGrid grid, int cell) {
+        switch (grid.getCellType(cell)) {
+            case CellGrid.OBSTACLE:
+                return OBSTACLE_COLOR;
+            case CellGrid.STARTING_POINT:
+                return START_POINT_COLOR;
+            case CellGrid.ENDING_POINT:
+                return ENDING_POINT_COLOR;
+            default:
+                return TILE_COLOR;
+        }
+    }
+
     /**
      * Paints the node
-     * @param node the node that should be updated/painted
+     * @param cell the cell of the node that should be updated/painted
      */
-    public void updateGuiNode(Node node){
-        Label guiNode = guiNodes.get(node.getPoint().getKeyLocation());
-        if(guiNode != null) {
-            if(node instanceof Obstacle) {
-                guiNode.setBackground(ResourceManager.getColor(SWT.COLOR_BLACK));
-            } else if(node instanceof StartingNode) {
-                guiNode.setBackground(startPointColor);
-            } else if(node instanceof EndingNode) {
-                guiNode.setBackground(endingPointColor);
-            }
-            guiNode.redraw();
+    public void updateGuiNode(int cell){
+        CellGrid grid = Maze.getMaze().getGrid();
+        MazeCanvas canvas = getMazeCanvas(grid);
+        if(canvas != null) {
+            canvas.setCellColor(cell, getCellColor(grid, cell));
+            canvas.redrawCell(cell);
         }
 
     }
 
     /**
-     * Paint the current tile that the algorithm is visiting (asynchronously)
-     * @param currentNode the node that is currently visited
+     * Paint the current tile that the algorithm is visiting (asynchronously).
+     * The cell is only added to the visited cells buffer, which the UI thread paints once per frame
+     * @param currentCell the cell that is currently visited
      */
-    public void paintVisitedTile(Node currentNode) {
-        // Paint the current visited Tile with a unique color (useful for simulation)
-        Display.getDefault().asyncExec(() -> {
-            Label guiNode = guiNodes.get(currentNode.getPoint().getKeyLocation());
-            if(guiNode != null) {
-                if (currentNode instanceof Tile && !currentNode.isEndingPoint() && !currentNode.isStartingPoint()) {
-                    guiNode.setBackground(visitedTileColor);
-                } else if(currentNode.isEndingPoint()) {
-                    guiNode.setBackground(endingPointColor);
-                } else if(currentNode.isStartingPoint()) {
-                    guiNode.setBackground(startPointColor);
-                }
-                guiNode.redraw();
-                guiNode.update();
-            }
+    public void paintVisitedTile(int currentCell) {
+        visitedCells.add(currentCell);
+        if (frameScheduled.compareAndSet(false, true)) {
+            Display display = Display.getDefault();
+            display.asyncExec(() -> display.timerExec(FRAME_TIME, this::paintVisitedFrame));
+        }
+    }
 
-            Label previousGuiNode = guiNodes.get(previousPaintedNodeKey);
-            if(previousGuiNode != null) {
-                Node previousNode = Maze.getMaze().getNode(previousPaintedNodeKey);
-                if (previousNode instanceof Tile && !previousNode.isEndingPoint() && !previousNode.isStartingPoint()) {
-                    previousGuiNode.setBackground(ResourceManager.getColor(SWT.COLOR_GRAY));
-                } else if(previousNode.isEndingPoint()) {
-                    previousGuiNode.setBackground(endingPointColor);
-                } else if(previousNode.isStartingPoint()) {
-                    previousGuiNode.setBackground(startPointColor);
-                }
-                previousGuiNode.redraw();
-                previousGuiNode.update();
+    /**
+     * Paints the cells visited since the last frame (on the UI thread). Only the last visited cell gets the visited
+     * color, the others are painted as previously visited. Cells dropped by the buffer when the UI falls behind are skipped
+     */
+    private void paintVisitedFrame() {
+        frameScheduled.set(false);
+        frameCells.clear();
+        visitedCells.drainTo(frameCells);
+        CellGrid grid = Maze.getMaze().getGrid();
+        MazeCanvas canvas = getMazeCanvas(grid);
+        if (canvas == null || frameCells.isEmpty()) {
+            return;
+        }
+        // Paint the current visited Tile with a unique color (useful for simulation)
+        int currentCell = frameCells.getLast();
+        if (previousPaintedCell >= 0) {
+            frameCells.add(previousPaintedCell);
+        }
+        for (int i = 0; i < frameCells.size(); i++) {
+            int cell = frameCells.get(i);
+            if (cell != currentCell) {
+                canvas.setCellColor(cell, grid.getCellType(cell) == CellGrid.TILE ? PREVIOUS_TILE_COLOR : getCellColor(grid, cell));
+                canvas.redrawCell(cell);
             }
-
-            previousPaintedNodeKey = currentNode.getPoint().getKeyLocation();
-        });
+        }
+        canvas.setCellColor(currentCell, grid.getCellType(currentCell) == CellGrid.TILE ? VISITED_TILE_COLOR : getCellColor(grid, currentCell));
+        canvas.redrawCell(currentCell);
+        previousPaintedCell = currentCell;
     }
 
     public void disposeMazeGui() {
         Display.getDefault().syncExec(() -> {
-            guiNodes.values().stream().forEach(Label::dispose);
-            guiNodes.clear();
-            guiCanvas.redraw();
+            if (mazeCanvas != null) {
+                mazeCanvas.dispose();
+                mazeCanvas = null;
+            }
         });
 
     }
 
-    public void paintOptimalSolution(List<String> optimalSolution) {
+    public void paintOptimalSolution(int[] optimalSolution) {
         Display.getDefault().asyncExec(() -> {
+            // the exploration is over, so visited cells still waiting for a frame must not paint over the solution
+            visitedCells.clear();
             if(PropertyReader.getInstance().getBoolean("show_optimal_path", true)) {
-                Color whiteColor = ResourceManager.getColor(SWT.COLOR_WHITE);
-                guiCanvas.setRedraw(false);
-                guiNodes.values().stream().forEach(l -> {
-                    Node node = Maze.getMaze().getNode((String) l.getData());
-                    if (node instanceof Tile && !node.isStartingPoint() && !node.isEndingPoint()) {
-                        l.setBackground(whiteColor);
+                CellGrid grid = Maze.getMaze().getGrid();
+                MazeCanvas canvas = getMazeCanvas(grid);
+                if (canvas == null) {
+                    return;
+                }
+                for (int cell = 0; cell < grid.size(); cell++) {
+                    if (grid.getCellType(cell) == CellGrid.TILE) {
+                        canvas.setCellColor(cell, TILE_COLOR);
                     }
-                });
+                }
 
-                for (int i = 1; i < optimalSolution.size() - 1; i++) {
-                    guiNodes.get(optimalSolution.get(i)).setBackground(visitedTileColor);
+                for (int i = 1; i < optimalSolution.length - 1; i++) {
+                    canvas.setCellColor(optimalSolution[i], VISITED_TILE_COLOR);
                 }
-                guiCanvas.setRedraw(true);
+                canvas.redrawAll();
             }
         });
 
     }
 
     public void resetGui() {
-        previousPaintedNodeKey = "";
+        previousPaintedCell = -1;
         Display.getCurrent().asyncExec(() -> {
-            guiNodes.values().stream().forEach(l -> {
-                Node node = Maze.getMaze().getNode((String) l.getData());
-                if (node instanceof Tile && !node.isStartingPoint() && !node.isEndingPoint()) {
-                    l.setBackground(ResourceManager.getColor(SWT.COLOR_WHITE));
-                    l.redraw();
-                }
-            });
+            visitedCells.clear();
+            previousPaintedCell = -1;
+            repaintTiles();
         });
     }
 
-    public void showResultMessage(final boolean foundSolution, final Map<Integer, List<String>> solutions, final List<String> optimalSolution) {
+    /**
+     * Paints every tile with the tile color and redraws the canvas once, instead of once per tile
+     */
+    private void repaintTiles() {
+        CellGrid grid = Maze.getMaze().getGrid();
+        MazeCanvas canvas = getMazeCanvas(grid);
+        if (canvas == null) {
+            return;
+        }
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (grid.getCellType(cell) == CellGrid.TILE) {
+                canvas.setCellColor(cell, TILE_COLOR);
+            }
+        }
+        canvas.redrawAll();
+    }
+
+    public void showResultMessage(final boolean foundSolution, final SolutionStore solutions, final int[] optimalSolution) {
+        long numberOfSolutions = solutions.getNumberOfSolutions();
         String str = "";
         if (foundSolution) {
 
-            if(solutions.keySet().size() > 1) {
-                str += "Found " + solutions.keySet().size() + " solutions";
+            if(numberOfSolutions > 1) {
+                str += "Found " + numberOfSolutions + " solutions";
                 str += "\nOptimal solution is: ";
                 str += Wanderer.getWanderer().constructDisplayableSolution(optimalSolution);
-            } else {
+            } else if(numberOfSolutions == 1) {
                 str += "Found 1 Solution";
                 str += "!\nOptimal solution is: ";
                 str += Wanderer.getWanderer().constructDisplayableSolution(optimalSolution);
+            } else {
+                str += "Found shortest path with length " + (optimalSolution.length - 1);
+                str += "!\nOptimal solution is: ";
+                str += Wanderer.getWanderer().constructDisplayableSolution(optimalSolution);
             }
         } else {
             str += "No solution was found for this maze";
@@ -1,9 +1,14 @@
 package net.etravel.com.controllers;
 
+import net.etravel.com.logger.LoggingController;
+import net.etravel.com.metrics.SolverMetrics;
 import net.etravel.com.properties.PropertyReader;
 import net.etravel.com.structure.*;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Random;
+import java.util.logging.Level;
 
 public class Maze {
 
@@ -11,10 +16,21 @@ public class Maze {
     public static int colSize = 2;
     public static int matrixSize = 4;
     public static int obstacles = 0;
-    Node[][] nodes;
+    /**
+     * Packed cells of the maze. Node objects are only created as views when something asks for them
+     */
+    CellGrid grid;
     private final static Maze instance = new Maze();
     public StartingNode startingNode = null;
     public EndingNode endingNode = null;
+    /**
+     * Observer of the maze and of the exploration, the UI when there is one
+     */
+    private volatile MazeListener listener = MazeListener.NONE;
+    /**
+     * Seed of the last generated maze
+     */
+    private long seed = 0;
 
 
     private Maze() {
@@ -38,113 +54,236 @@ public class Maze {
     }
 
     private void populate() {
-        if (nodes != null && nodes.length > 0) {
+        if (grid != null) {
             dispose();
         }
-        Random rand = new Random();
-        nodes = new Node[rowSize][colSize];
-        int obstaclesConstructed = 0;
-        while (obstaclesConstructed < obstacles) {
-
-            int row = Math.abs(rand.nextInt()) % rowSize;
-            int col = Math.abs(rand.nextInt()) % colSize;
-            Node randomNode = nodes[row][col];
-            if (randomNode == null) {
-                Obstacle o = new Obstacle(new Point(row, col));
-                nodes[row][col] = o;
-                DisplayController.getDisplayController().updateGuiNode(o);
-                obstaclesConstructed++;
+        seed = readSeed();
+        LoggingController.getLogger().log(Level.INFO, "Generating maze with seed " + seed);
+        long start = System.nanoTime();
+        grid = generate(rowSize, colSize, obstacles, new Random(seed));
+        SolverMetrics.getMetrics().addPhaseTime(SolverMetrics.Phase.GENERATE, System.nanoTime() - start);
+        this.startingNode = (StartingNode) createNode(grid.getStartingCell());
+        this.endingNode = (EndingNode) createNode(grid.getEndingCell());
+        notifyOccupiedCells();
+    }
+
+    /**
+     * @return the seed defined from configuration.properties (maze_seed), a random one if it is not defined
+     */
+    private static long readSeed() {
+        String seedStr = PropertyReader.getInstance().getProperty("maze_seed", "").trim();
+        if (!seedStr.isEmpty()) {
+            try {
+                return Long.parseLong(seedStr);
+            } catch (NumberFormatException e) {
+                LoggingController.getLogger().log(Level.WARNING, "Invalid maze_seed " + seedStr + ", using a random seed");
             }
         }
-        boolean startingPointConstructed = false;
-        while (!startingPointConstructed) {
-            int row = Math.abs(rand.nextInt()) % rowSize;
-            int col = Math.abs(rand.nextInt()) % colSize;
-            Node randomNode = nodes[row][col];
-            if (randomNode == null) {
-                StartingNode s = new StartingNode(new Point(row, col));
-                nodes[row][col] = s;
-                this.startingNode = s;
-                DisplayController.getDisplayController().updateGuiNode(s);
-                startingPointConstructed = true;
-            }
+        return new Random().nextLong();
+    }
+
+    /**
+     * @return the seed of the last generated maze, generating it again with the same dimensions gives the same maze
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Installs already constructed cells as the maze, replacing the current one
+     * @param cells the cells of the maze, with a starting and an ending point set
+     */
+    public void initMaze(CellGrid cells) {
+        dispose();
+        rowSize = cells.getRows();
+        colSize = cells.getCols();
+        matrixSize = cells.size();
+        obstacles = cells.countObstacles();
+        grid = cells;
+        this.startingNode = (StartingNode) createNode(grid.getStartingCell());
+        this.endingNode = (EndingNode) createNode(grid.getEndingCell());
+        notifyOccupiedCells();
+    }
+
+    /**
+     * Saves the maze in the binary maze file format, so it can be loaded again exactly
+     * @param path the file, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path) throws IOException {
+        MazeFile.write(path, grid, seed);
+        LoggingController.getLogger().log(Level.INFO, "Saved maze to " + path);
+    }
+
+    /**
+     * Loads a maze saved in the binary maze file format, replacing the current one.
+     * The file is memory-mapped, so big mazes are loaded without copying them onto the heap
+     * @param path the file
+     * @throws IOException if the file cannot be read or is not a valid maze file
+     */
+    public void load(Path path) throws IOException {
+        long start = System.nanoTime();
+        MazeFile mazeFile = MazeFile.read(path);
+        initMaze(mazeFile.getGrid());
+        seed = mazeFile.getSeed();
+        SolverMetrics.getMetrics().addPhaseTime(SolverMetrics.Phase.GENERATE, System.nanoTime() - start);
+        LoggingController.getLogger().log(Level.INFO, "Loaded " + rowSize + "x" + colSize + " maze from " + path);
+    }
+
+    /**
+     * Creates the cells of a random maze in linear time. The obstacles, the starting and the ending point are the first
+     * cells of a partial Fisher-Yates shuffle of the cell indices, so no cell is drawn twice.
+     * The shuffle keeps every cell index on the heap (4 bytes per cell), so mazes bigger than the heap allows
+     * should be loaded from a maze file instead
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param obstacles the number of obstacles, at most all the cells but the starting and the ending point
+     * @param rand the source of randomness, seeded to get the same maze again
+     * @return the cells of the maze
+     * @throws IllegalArgumentException if the maze would have fewer than 2 cells (no room for both the starting and
+     * the ending point) or more than CellGrid.MAX_CELLS cells
+     */
+    public static CellGrid generate(int rows, int cols, int obstacles, Random rand) {
+        if (rows < 0 || cols < 0 || (long) rows * cols < 2) {
+            throw new IllegalArgumentException("Cannot generate a " + rows + "x" + cols
+                    + " maze, a maze needs at least 2 cells for the starting and the ending point");
+        }
+        CellGrid cells = new CellGrid(rows, cols);
+        int size = cells.size();
+        int obstacleCount = Math.max(0, Math.min(obstacles, size - 2));
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        // only the first obstacleCount + 2 positions need to be shuffled
+        for (int i = 0; i < obstacleCount + 2; i++) {
+            int j = i + rand.nextInt(size - i);
+            int swap = indices[i];
+            indices[i] = indices[j];
+            indices[j] = swap;
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            cells.setObstacle(indices[i], true);
         }
+        cells.setStartingCell(indices[obstacleCount]);
+        cells.setEndingCell(indices[obstacleCount + 1]);
+        return cells;
+    }
 
-        boolean endingPointConstructed = false;
-        while (!endingPointConstructed) {
-            int row = Math.abs(rand.nextInt()) % rowSize;
-            int col = Math.abs(rand.nextInt()) % colSize;
-            Node randomNode = nodes[row][col];
-            if (randomNode == null) {
-                EndingNode e = new EndingNode(new Point(row, col));
-                nodes[row][col] = e;
-                this.endingNode = e;
-                DisplayController.getDisplayController().updateGuiNode(e);
-                endingPointConstructed = true;
+    /**
+     * Notifies the listener about every obstacle, the starting and the ending point
+     */
+    private void notifyOccupiedCells() {
+        MazeListener mazeListener = listener;
+        if (mazeListener == MazeListener.NONE) {
+            return;
+        }
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (grid.isOccupied(cell)) {
+                mazeListener.cellChanged(cell);
             }
         }
+    }
 
-        for (int row = 0; row < rowSize; row++) {
-            for (int col = 0; col < colSize; col++) {
-                if (nodes[row][col] == null) {
-                    Tile t = new Tile(new Point(row, col));
-                    nodes[row][col] = t;
-                    DisplayController.getDisplayController().updateGuiNode(t);
-                }
-            }
+    /**
+     * Creates the Node view of a cell
+     * @param cell the cell index
+     * @return a new Node of the type of the cell
+     */
+    private Node createNode(int cell) {
+        Point point = new Point(grid.rowOf(cell), grid.colOf(cell));
+        switch (grid.getCellType(cell)) {
+            case CellGrid.OBSTACLE:
+                return new Obstacle(point);
+            case CellGrid.STARTING_POINT:
+                return new StartingNode(point);
+            case CellGrid.ENDING_POINT:
+                return new EndingNode(point);
+            default:
+                return new Tile(point);
         }
     }
 
+    /**
+     * @return the observer of the maze and of the exploration, never null
+     */
+    public MazeListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the observer of the maze and of the exploration
+     * @param listener the observer, null to run without any
+     */
+    public void setListener(MazeListener listener) {
+        this.listener = listener == null ? MazeListener.NONE : listener;
+    }
+
     public StartingNode getStartingNode() {
         return startingNode;
     }
 
+    public EndingNode getEndingNode() {
+        return endingNode;
+    }
+
     public void dispose() {
-        nodes = null;
+        grid = null;
+    }
+
+    /**
+     * @return the packed cells of the maze, null if the maze is not constructed
+     */
+    public CellGrid getGrid() {
+        return grid;
     }
 
     public Node getNode(int row, int col) {
         if (row < 0 || col < 0 || row > rowSize - 1 || col > colSize - 1) {
             return null;
         } else {
-            return nodes[row][col];
+            return createNode(grid.index(row, col));
         }
     }
 
-    public Node getNode(String keyLocation) {
-        String[] split = keyLocation.split("\\|");
-        return nodes[Integer.parseInt(split[0])][Integer.parseInt(split[1])];
+    /**
+     * @param cell the cell index (row * colSize + col)
+     * @return the Node view of the cell, null if it is outside the maze
+     */
+    public Node getNode(int cell) {
+        if (cell < 0 || cell >= grid.size()) {
+            return null;
+        }
+        return createNode(cell);
     }
 
+    /**
+     * Resets the tiles to their unvisited state, notifying the listener once for the whole maze
+     */
     public void resetTiles() {
-        for (Node[] n : nodes) {
-            for (Node m : n)
-                if (m instanceof Tile) {
-                    ((Tile) m).resetInInitialState();
-                    DisplayController.getDisplayController().updateGuiNode(m);
-                }
-        }
+        listener.tilesReset();
     }
 
     public boolean isMazeConstructed() {
-        return nodes != null;
+        return grid != null;
     }
 
     public void printMazeInConsole() {
         System.out.println();
         for (int i = 0; i < rowSize; i++) {
             for (int j = 0; j < colSize; j++) {
-                Node n = nodes[i][j];
-                if(n != null) {
-                    if (n.isStartingPoint()) {
+                switch (grid.getCellType(grid.index(i, j))) {
+                    case CellGrid.STARTING_POINT:
                         System.out.print("S");
-                    } else if (n.isEndingPoint()) {
+                        break;
+                    case CellGrid.ENDING_POINT:
                         System.out.print("E");
-                    } else if (n.isObstacle()) {
+                        break;
+                    case CellGrid.OBSTACLE:
                         System.out.print("X");
-                    } else {
+                        break;
+                    default:
                         System.out.print("_");
-                    }
                 }
             }
             System.out.println();
@@ -0,0 +1,294 @@
+package net.etravel.com.controllers;
+
+import net.etravel.com.metrics.SolverMetrics;
+import net.etravel.com.resources.ResourceManager;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.ScrollBar;
+
+import java.util.Arrays;
+
+/**
+ * Draws the whole maze on a single Canvas, so the number of OS handles does not depend on the size of the maze.
+ * The color of each cell is a pixel of an ImageData buffer, copied to an Image back buffer that is scaled by the zoom
+ * when painted. Only the changed cells are copied to the back buffer and only the changed rectangles are redrawn,
+ * and painting only draws the cells inside the viewport.
+ * Must be used from the UI thread
+ */
+class MazeCanvas {
+
+    private static final int MIN_CELL_SIZE = 1;
+    private static final int MAX_CELL_SIZE = 64;
+    /**
+     * Smallest cell size (in pixels) for which the borders of the cells are drawn
+     */
+    private static final int BORDER_CELL_SIZE = 8;
+    private static final PaletteData PALETTE = new PaletteData(0xFF0000, 0xFF00, 0xFF);
+
+    private final Canvas canvas;
+    /**
+     * Color of each cell, 1 pixel per cell
+     */
+    private ImageData pixels = null;
+    private Image image = null;
+    private int rows = 0;
+    private int cols = 0;
+    /**
+     * Cells changed since the back buffer was last updated, as a bounding box in cell coordinates
+     */
+    private int dirtyMinRow;
+    private int dirtyMinCol;
+    private int dirtyMaxRow = -1;
+    private int dirtyMaxCol = -1;
+    /**
+     * Zoom, the size of each cell in pixels
+     */
+    private int cellSize = MIN_CELL_SIZE;
+    /**
+     * Position of the viewport inside the zoomed maze, in pixels
+     */
+    private int originX = 0;
+    private int originY = 0;
+
+    MazeCanvas(Composite parent) {
+        canvas = new Canvas(parent, SWT.DOUBLE_BUFFERED | SWT.NO_BACKGROUND | SWT.H_SCROLL | SWT.V_SCROLL);
+        canvas.addListener(SWT.Paint, this::paint);
+        canvas.addListener(SWT.Resize, event -> updateScrollBars());
+        canvas.addListener(SWT.MouseVerticalWheel, this::zoom);
+        canvas.getHorizontalBar().addListener(SWT.Selection, event -> {
+            originX = canvas.getHorizontalBar().getSelection();
+            canvas.redraw();
+        });
+        canvas.getVerticalBar().addListener(SWT.Selection, event -> {
+            originY = canvas.getVerticalBar().getSelection();
+            canvas.redraw();
+        });
+        canvas.addListener(SWT.Dispose, event -> disposeImage());
+    }
+
+    boolean isDisposed() {
+        return canvas.isDisposed();
+    }
+
+    void dispose() {
+        canvas.dispose();
+    }
+
+    /**
+     * @return true if the canvas is showing a maze with these dimensions
+     */
+    boolean hasSize(int rows, int cols) {
+        return pixels != null && this.rows == rows && this.cols == cols;
+    }
+
+    /**
+     * Prepares the canvas for a maze, with every cell white and a zoom fitting the whole maze
+     * @param rows the number of rows of the maze
+     * @param cols the number of columns of the maze
+     */
+    void setMaze(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        pixels = new ImageData(cols, rows, 24, PALETTE);
+        int white = toPixel(new RGB(255, 255, 255));
+        int[] line = new int[cols];
+        Arrays.fill(line, white);
+        for (int row = 0; row < rows; row++) {
+            pixels.setPixels(0, row, cols, line, 0);
+        }
+        disposeImage();
+        Rectangle client = canvas.getClientArea();
+        int fittingSize = Math.min(client.width / Math.max(1, cols), client.height / Math.max(1, rows));
+        cellSize = Math.max(MIN_CELL_SIZE, Math.min(MAX_CELL_SIZE, fittingSize));
+        originX = 0;
+        originY = 0;
+        updateScrollBars();
+        canvas.redraw();
+    }
+
+    /**
+     * Sets the color of a cell, without redrawing it
+     * @param cell the cell index (row * cols + col)
+     * @param color the new color of the cell
+     */
+    void setCellColor(int cell, RGB color) {
+        if (pixels == null) {
+            return;
+        }
+        int row = cell / cols;
+        int col = cell % cols;
+        pixels.setPixel(col, row, toPixel(color));
+        if (dirtyMaxRow < 0) {
+            dirtyMinRow = dirtyMaxRow = row;
+            dirtyMinCol = dirtyMaxCol = col;
+        } else {
+            dirtyMinRow = Math.min(dirtyMinRow, row);
+            dirtyMaxRow = Math.max(dirtyMaxRow, row);
+            dirtyMinCol = Math.min(dirtyMinCol, col);
+            dirtyMaxCol = Math.max(dirtyMaxCol, col);
+        }
+    }
+
+    /**
+     * Redraws a single cell, if it is inside the viewport
+     * @param cell the cell index (row * cols + col)
+     */
+    void redrawCell(int cell) {
+        if (pixels == null) {
+            return;
+        }
+        int x = (cell % cols) * cellSize - originX;
+        int y = (cell / cols) * cellSize - originY;
+        Rectangle client = canvas.getClientArea();
+        if (x + cellSize > 0 && y + cellSize > 0 && x < client.width && y < client.height) {
+            canvas.redraw(x, y, cellSize, cellSize, false);
+        }
+    }
+
+    void redrawAll() {
+        canvas.redraw();
+    }
+
+    private static int toPixel(RGB color) {
+        return (color.red << 16) | (color.green << 8) | color.blue;
+    }
+
+    /**
+     * Copies the cells changed since the last paint from the pixel buffer to the back buffer
+     */
+    private void updateImage() {
+        if (image == null || image.isDisposed()) {
+            image = new Image(canvas.getDisplay(), pixels);
+        } else if (dirtyMaxRow >= 0) {
+            int width = dirtyMaxCol - dirtyMinCol + 1;
+            int height = dirtyMaxRow - dirtyMinRow + 1;
+            if (width == cols && height == rows) {
+                disposeImage();
+                image = new Image(canvas.getDisplay(), pixels);
+            } else {
+                ImageData changed = new ImageData(width, height, 24, PALETTE);
+                int bytesPerPixel = 3;
+                for (int i = 0; i < height; i++) {
+                    System.arraycopy(pixels.data, (dirtyMinRow + i) * pixels.bytesPerLine + dirtyMinCol * bytesPerPixel,
+                            changed.data, i * changed.bytesPerLine, width * bytesPerPixel);
+                }
+                Image changedImage = new Image(canvas.getDisplay(), changed);
+                GC gc = new GC(image);
+                gc.drawImage(changedImage, dirtyMinCol, dirtyMinRow);
+                gc.dispose();
+                changedImage.dispose();
+            }
+        }
+        dirtyMaxRow = -1;
+        dirtyMaxCol = -1;
+    }
+
+    /**
+     * Paints the cells inside the damaged rectangle, scaled by the zoom
+     */
+    private void paint(Event event) {
+        long start = System.nanoTime();
+        try {
+            paintCells(event);
+        } finally {
+            SolverMetrics.getMetrics().addPhaseTime(SolverMetrics.Phase.RENDER, System.nanoTime() - start);
+        }
+    }
+
+    private void paintCells(Event event) {
+        GC gc = event.gc;
+        gc.setBackground(ResourceManager.getColor(SWT.COLOR_WIDGET_LIGHT_SHADOW));
+        if (pixels == null) {
+            gc.fillRectangle(event.x, event.y, event.width, event.height);
+            return;
+        }
+        updateImage();
+        int firstCol = Math.max(0, (event.x + originX) / cellSize);
+        int lastCol = Math.min(cols - 1, (event.x + event.width - 1 + originX) / cellSize);
+        int firstRow = Math.max(0, (event.y + originY) / cellSize);
+        int lastRow = Math.min(rows - 1, (event.y + event.height - 1 + originY) / cellSize);
+        if (firstCol <= lastCol && firstRow <= lastRow) {
+            int visibleCols = lastCol - firstCol + 1;
+            int visibleRows = lastRow - firstRow + 1;
+            int x = firstCol * cellSize - originX;
+            int y = firstRow * cellSize - originY;
+            gc.setInterpolation(SWT.NONE);
+            gc.drawImage(image, firstCol, firstRow, visibleCols, visibleRows,
+                    x, y, visibleCols * cellSize, visibleRows * cellSize);
+            if (cellSize >= BORDER_CELL_SIZE) {
+                gc.setForeground(ResourceManager.getColor(SWT.COLOR_GRAY));
+                for (int col = firstCol; col <= lastCol + 1; col++) {
+                    int lineX = col * cellSize - originX;
+                    gc.drawLine(lineX, y, lineX, y + visibleRows * cellSize);
+                }
+                for (int row = firstRow; row <= lastRow + 1; row++) {
+                    int lineY = row * cellSize - originY;
+                    gc.drawLine(x, lineY, x + visibleCols * cellSize, lineY);
+                }
+            }
+        }
+        // the area outside the maze
+        int mazeRight = cols * cellSize - originX;
+        int mazeBottom = rows * cellSize - originY;
+        if (mazeRight < event.x + event.width) {
+            gc.fillRectangle(mazeRight, event.y, event.x + event.width - mazeRight, event.height);
+        }
+        if (mazeBottom < event.y + event.height) {
+            gc.fillRectangle(event.x, mazeBottom, event.width, event.y + event.height - mazeBottom);
+        }
+    }
+
+    /**
+     * Zooms in and out with the mouse wheel while the control (command) key is pressed, keeping the cell
+     * under the mouse in place
+     */
+    private void zoom(Event event) {
+        if ((event.stateMask & SWT.MOD1) == 0 || pixels == null) {
+            return;
+        }
+        event.doit = false;
+        int newCellSize = event.count > 0 ? Math.min(MAX_CELL_SIZE, cellSize * 2) : Math.max(MIN_CELL_SIZE, cellSize / 2);
+        if (newCellSize == cellSize) {
+            return;
+        }
+        originX = (event.x + originX) * newCellSize / cellSize - event.x;
+        originY = (event.y + originY) * newCellSize / cellSize - event.y;
+        cellSize = newCellSize;
+        updateScrollBars();
+        canvas.redraw();
+    }
+
+    /**
+     * Fits the scroll bars to the zoomed maze and keeps the viewport inside it
+     */
+    private void updateScrollBars() {
+        Rectangle client = canvas.getClientArea();
+        ScrollBar horizontalBar = canvas.getHorizontalBar();
+        ScrollBar verticalBar = canvas.getVerticalBar();
+        int mazeWidth = cols * cellSize;
+        int mazeHeight = rows * cellSize;
+        originX = Math.max(0, Math.min(originX, mazeWidth - client.width));
+        originY = Math.max(0, Math.min(originY, mazeHeight - client.height));
+        horizontalBar.setValues(originX, 0, Math.max(1, mazeWidth), Math.max(1, Math.min(client.width, mazeWidth)),
+                cellSize, Math.max(1, client.width));
+        verticalBar.setValues(originY, 0, Math.max(1, mazeHeight), Math.max(1, Math.min(client.height, mazeHeight)),
+                cellSize, Math.max(1, client.height));
+    }
+
+    private void disposeImage() {
+        if (image != null && !image.isDisposed()) {
+            image.dispose();
+        }
+        image = null;
+        dirtyMaxRow = -1;
+        dirtyMaxCol = -1;
+    }
+}
@@ -0,0 +1,52 @@
+package net.etravel.com.controllers;
+
+import net.etravel.com.solvers.SolutionStore;
+
+/**
+ * Observer of the maze and of the exploration of the wanderer.
+ * Every method does nothing by default, so the maze and the wanderer can run without any UI
+ */
+public interface MazeListener {
+
+    /**
+     * Listener that ignores every event, used when nothing is registered
+     */
+    MazeListener NONE = new MazeListener() {
+    };
+
+    /**
+     * Called when the type of a cell is set or reset
+     * @param cell the cell index
+     */
+    default void cellChanged(int cell) {
+    }
+
+    /**
+     * Called once when every tile of the maze is reset, instead of cellChanged for each of them
+     */
+    default void tilesReset() {
+    }
+
+    /**
+     * Called on every move of the wanderer, from the simulation thread
+     * @param cell the cell the wanderer moves from
+     */
+    default void cellVisited(int cell) {
+    }
+
+    /**
+     * Called when the exploration found at least 1 solution
+     * @param optimalSolution the cells of the optimal solution
+     */
+    default void optimalSolutionFound(int[] optimalSolution) {
+    }
+
+    /**
+     * Called once the exploration is over, from the simulation thread
+     * @param foundSolution true if at least 1 solution is found
+     * @param solutions the registry of the solutions found
+     * @param optimalSolution the cells of the optimal solution, empty if no solution is found
+     */
+    default void explorationFinished(boolean foundSolution, SolutionStore solutions, int[] optimalSolution) {
+    }
+}
@@ -1,41 +1,97 @@
 package net.etravel.com.controllers;
 
 import net.etravel.com.logger.LoggingController;
+import net.etravel.com.metrics.SolverMetrics;
 import net.etravel.com.properties.PropertyReader;
-import net.etravel.com.structure.Node;
-import net.etravel.com.structure.Tile;
-
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import net.etravel.com.solvers.AStarSolver;
+import net.etravel.com.solvers.BidirectionalSolver;
+import net.etravel.com.solvers.BreadthFirstSolver;
+import net.etravel.com.solvers.DepthFirstSearch;
+import net.etravel.com.solvers.Heuristic;
+import net.etravel.com.solvers.JumpPointSolver;
+import net.etravel.com.solvers.MazePreprocessor;
+import net.etravel.com.solvers.OutOfCoreSolver;
+import net.etravel.com.solvers.ParallelPathEnumerator;
+import net.etravel.com.solvers.SolutionExporter;
+import net.etravel.com.solvers.SolutionSink;
+import net.etravel.com.solvers.SolutionStore;
+import net.etravel.com.solvers.Solver;
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 
 public class Wanderer {
 
     private final static Wanderer instance = new Wanderer();
-    private Node startingNode;
-    private Node previousNode, currentNode;
-    private int numberOfSolutions = 0;
     /**
-     * Solutions Registry
+     * Cell index (row * colSize + col) of the starting position of the wanderer
      */
-    private final ConcurrentHashMap<Integer, List<String>> solutions;
+    private int startingCell;
     /**
-     * boolean showing if at least 1 solution is found
+     * Solutions Registry. Keeps the solutions in a compact prefix-sharing store, or only counts them
+     */
+    private volatile SolutionStore solutions;
+    /**
+     * Solutions registry mode defined from configuration.properties.
+     * "store" keeps every solution found, "count" only counts them and keeps the optimal one
+     */
+    private String registryMode = REGISTRY_MODE_STORE;
+    public static final String REGISTRY_MODE_STORE = "store";
+    public static final String REGISTRY_MODE_COUNT = "count";
+    /**
+     * Optional sink receiving every solution found, null if none is set
+     */
+    private volatile SolutionSink solutionSink = null;
+    /**
+     * Exporter streaming the solutions of the running exploration to a file, null if no export file is defined
+     */
+    private volatile SolutionExporter exporter = null;
+    /**
+     * Exporter set for the next exploration instead of the one defined from configuration.properties, null if none is set
      */
-    private boolean foundSolution = false;
+    private volatile SolutionExporter nextExporter = null;
     /**
-     * The path that wanderer has followed since he started exploring
+     * boolean showing if at least 1 solution is found
      */
-    private final List<String> path;
+    private volatile boolean foundSolution = false;
     /**
-     * List containing an optimal solution path
+     * List containing the cells of an optimal solution path
      */
-    private final List<String> optimalSolution;
+    private final IntList optimalSolution;
     /**
      * Simulation sleep time of each wanderer move (in millis). Defined from configuration.properties
      */
     private long simulationSleepTime = 0;
+    /**
+     * Solver mode defined from configuration.properties.
+     * "all" exhausts every possible path, "shortest" only looks for the optimal one with a breadth-first search,
+     * "optimal" only looks for the optimal one by pruning the paths that cannot beat the best solution found so far,
+     * "astar" only looks for the optimal one with an A* search using the heuristic defined from configuration.properties,
+     * "bidirectional" only looks for the optimal one with a breadth-first search from both the starting and the ending point,
+     * "jps" only looks for the optimal one with a Jump Point Search,
+     * "outofcore" only looks for the optimal one with a breadth-first search keeping its state in a memory-mapped file
+     */
+    private String solverMode = SOLVER_MODE_ALL;
+    public static final String SOLVER_MODE_ALL = "all";
+    public static final String SOLVER_MODE_SHORTEST = "shortest";
+    public static final String SOLVER_MODE_OPTIMAL = "optimal";
+    public static final String SOLVER_MODE_ASTAR = "astar";
+    public static final String SOLVER_MODE_BIDIRECTIONAL = "bidirectional";
+    public static final String SOLVER_MODE_JPS = "jps";
+    public static final String SOLVER_MODE_OUT_OF_CORE = "outofcore";
+    /**
+     * Number of cells expanded by the last shortest path solver
+     */
+    private long expandedCells = 0;
+    /**
+     * Number of threads used to enumerate all solutions. Defined from configuration.properties, 0 uses every available core
+     */
+    private int solverThreads = 1;
     /**
      * The thread running the simulation (in order to still interact with the UI)
      */
@@ -43,9 +99,7 @@ public class Wanderer {
 
 
     private Wanderer() {
-        solutions = new ConcurrentHashMap<Integer, List<String>>();
-        path = new ArrayList<String>();
-        optimalSolution = new ArrayList<String>();
+        optimalSolution = new IntList();
     }
 
 
@@ -53,31 +107,14 @@ public class Wanderer {
      * Initializes the wanderer in the starting Node and setting initial conditions
      */
     public void init() {
-        startingNode = Maze.getMaze().getStartingNode();
-        currentNode = startingNode;
-        previousNode = currentNode;
-        path.clear();
+        startingCell = Maze.getMaze().getGrid().getStartingCell();
         optimalSolution.clear();
-        path.add(startingNode.getPoint().getKeyLocation());
     }
 
     public static Wanderer getWanderer() {
         return instance;
     }
 
-    /**
-     * Checkes whether wanderer is currently stepping on the Goal Tile
-     * @return true if the wanderer is on Goal tile, false otherwise
-     */
-    private boolean checkIfGoal() {
-        if (currentNode.isEndingPoint()) {
-            LoggingController.getLogger().log(Level.FINE, "Reached ending point!");
-            foundSolution = true;
-            return true;
-        }
-        return false;
-    }
-
     /**
      * @return true if the simulation is running, false otherwise
      */
@@ -85,44 +122,45 @@ public class Wanderer {
         return simulationThread != null && simulationThread.isAlive();
     }
 
-    /**
-     * This method checks whether wanderer can move to a node (Starting Tile, Ending Tile, visitable Tile, Obstacle)
-     * @param node the node that is being examined
-     * @return true if wanderer can move to node while searching for Goal tile, false otherwise
-     */
-    private boolean canMoveToNode(Node node) {
-        boolean canMove;
-        canMove = (node != null);
-        if (canMove) {
-            canMove = !node.isObstacle();
-            canMove &= node.isAccessible();
-            canMove &= !node.equals(previousNode);
-            canMove &= !node.equals(startingNode);
-            if (node instanceof Tile && !node.isEndingPoint()) {
-                if (!path.contains(node.getPoint().getKeyLocation())) {
-//                    canMove &= !((Tile) node).isVisitedOnce();
-                } else {
-                    canMove = false;
-                }
-            }
-        }
-
-        return canMove;
-    }
-
     /**
      * Main methoc that starts the Maze exploration by starting the simulation in a separate thread
      */
     public void exploreMaze() {
         simulationSleepTime = PropertyReader.getInstance().getInteger("simulation_step_time", 0);
+        solverMode = PropertyReader.getInstance().getProperty("solver_mode", SOLVER_MODE_ALL).trim();
+        solverThreads = PropertyReader.getInstance().getInteger("solver_threads", 1);
+        if (solverThreads <= 0) {
+            solverThreads = Runtime.getRuntime().availableProcessors();
+        }
+        registryMode = PropertyReader.getInstance().getProperty("solutions_registry", REGISTRY_MODE_STORE).trim();
         if(!isCurrentlyExploring()) {
+            solutions = new SolutionStore(Maze.getMaze().getGrid(), !REGISTRY_MODE_COUNT.equalsIgnoreCase(registryMode));
             simulationThread = new Thread("Simulation") {
                 @Override
                 public void run() {
-                    LoggingController.getLogger().log(Level.INFO, "Exploring maze. . .");
-                    explore(startingNode, path, 0);
-                    displaySolutions();
-                    DisplayController.getDisplayController().showResultMessage(foundSolution, solutions, optimalSolution);
+                    SolverMetrics.getMetrics().explorationStarted();
+                    Solver solver = createSolver();
+                    try {
+                        exporter = openExporter();
+                        // only the enumeration of the paths runs on the preprocessed grid, a shortest path solver
+                        // expands far fewer cells than the preprocessor and finds by itself that the end is unreachable
+                        MazePreprocessor preprocessor = solver == null ? preprocess() : null;
+                        LoggingController.getLogger().log(Level.INFO, "Exploring maze. . .");
+                        SolverMetrics.getMetrics().searchStarted();
+                        if (solver != null) {
+                            exploreShortestPath(solver);
+                        } else if (!preprocessor.isSolvable()) {
+                            logUnsolvable();
+                        } else {
+                            explore(preprocessor.getSearchGrid());
+                        }
+                    } finally {
+                        // whatever happened during the search, the export file is closed and the observers are notified
+                        SolverMetrics.getMetrics().searchFinished();
+                        closeExporter(solver != null || SOLVER_MODE_OPTIMAL.equalsIgnoreCase(solverMode));
+                        displaySolutions();
+                        Maze.getMaze().getListener().explorationFinished(foundSolution, solutions, optimalSolution.toArray());
+                    }
                 }
             };
             simulationThread.start();
@@ -131,87 +169,197 @@ public class Wanderer {
 
 
     /**
-     * Recursive algorithm which exhausts every possible path the wanderer can take in order to find all the possible solutions towards the Goal Tile
-     * @param node The node that wanderer should explore for
-     * @param path The path with the row|col coordinates that wanderer is currently traversing. Adds an entry when moving to and deletes one when returning from
-     * @param depth The number of the recursive function calls. Used in the algorithm in order to delete path entries fast when returning
+     * Opens the file the solutions are streamed to, defined from configuration.properties (solutions_export)
+     * unless an exporter was set for the exploration
+     * @return the exporter of the solutions, null if no export file is defined or it cannot be created
      */
-    private void explore(Node node, List<String> path, int depth) {
-        depth++;
+    private SolutionExporter openExporter() {
+        SolutionExporter solutionExporter = nextExporter;
+        if (solutionExporter != null) {
+            nextExporter = null;
+            return solutionExporter;
+        }
+        String exportPath = PropertyReader.getInstance().getProperty("solutions_export", "").trim();
+        if (exportPath.isEmpty()) {
+            return null;
+        }
+        SolutionExporter.Format format = SolutionExporter.Format.parse(
+                PropertyReader.getInstance().getProperty("solutions_export_format", "text"), SolutionExporter.Format.TEXT);
+        try {
+            return new SolutionExporter(Maze.getMaze().getGrid(), Paths.get(exportPath), format);
+        } catch (IOException e) {
+            LoggingController.getLogger().log(Level.WARNING, "Could not create solutions export file " + exportPath + ": " + e.getMessage());
+            return null;
+        }
+    }
 
-        LoggingController.getLogger().log(Level.FINEST, "---------------------------------------------------------------");
-        LoggingController.getLogger().log(Level.FINEST, "Exploring Node -> " + node.toString() + " Depth: " + depth);
-        Set<Node> choices = getAvailableChoices();
-        LoggingController.getLogger().log(Level.FINEST, "Available paths for node: " + currentNode.toString() + " are -> ");
-        choices.forEach(c ->  LoggingController.getLogger().log(Level.FINEST, (c.toString() + " ")));
-        if (!currentNode.isAccessible()) {
-            ((Tile) currentNode).setAccessible(true);
+    /**
+     * Closes the export file and logs a summary of the export
+     * @param onlyOptimal true if the solver mode only looks for the optimal solution, which is then the one exported
+     */
+    private void closeExporter(boolean onlyOptimal) {
+        SolutionExporter solutionExporter = exporter;
+        if (solutionExporter == null) {
+            return;
         }
-        LoggingController.getLogger().log(Level.FINEST, "");
-        if (!choices.isEmpty()) {
-            try {
-                List<Tile> listOfChoices = choices.stream().map(Tile.class::cast).sorted(Comparator.comparing(Tile::isEndingPoint).reversed()).collect(Collectors.toList());
-                Node lastVisited;
-                for (Tile t : listOfChoices) {
-                    lastVisited = t;
-                    if (t != null && t.isAccessible()) {
-                        boolean foundGoal = moveToTile(t);
-                        path.add(t.getPoint().getKeyLocation());
-
-                        // Perform sleep operation whether sleep duration is defined in configuration.properties
-                        if (simulationSleepTime > 0) {
-                            try {
-                                Thread.sleep(simulationSleepTime);
-                            } catch (InterruptedException e) {
-                                e.printStackTrace();
-                            }
-                        }
-                        if (!foundGoal) {
-                            //If the explored tile is not the Goal then keep exploring on this path
-                            explore(currentNode, path, depth);
-                            //After returning from each tile when getting in a deadlock, reset these tiles in initial state in order to re investigate later for a different path
-                            ((Tile) currentNode).resetInInitialState();
-                            //Also remove from the path this last tile, as it is not in the solution
-                            path.remove(depth);
-                        } else {
-                            // We reached our goal so we register the solution in the solutions registry
-                            registerSolution(path);
-                            //Deleting last entry (goal)
-                            deleteLastEntry(path);
-                            //Set the current node to the other choice that we had found before finding the Goal
-                            currentNode = lastVisited;
-                        }
-                    }
-                }
-            } catch (IndexOutOfBoundsException iobe) {
-                // In case we are out of bounds (never happened)
-                iobe.printStackTrace();
-                explore(currentNode, path, depth);
+        exporter = null;
+        try {
+            if (onlyOptimal && !optimalSolution.isEmpty()) {
+                solutionExporter.accept(optimalSolution.toArray(), optimalSolution.size());
             }
+            solutionExporter.close();
+            LoggingController.getLogger().log(Level.INFO, String.format("Exported %d solutions (%d bytes) at %.1f MB/s",
+                    solutionExporter.getSolutionsWritten(), solutionExporter.getBytesWritten(),
+                    solutionExporter.getBytesPerSecond() / (1024 * 1024)));
+        } catch (IOException | UncheckedIOException e) {
+            LoggingController.getLogger().log(Level.WARNING, "Could not export the solutions: " + e.getMessage());
+        }
+    }
 
+    /**
+     * @return the shortest path solver of the solver mode, null if the mode enumerates paths
+     */
+    private Solver createSolver() {
+        if (SOLVER_MODE_SHORTEST.equalsIgnoreCase(solverMode)) {
+            return new BreadthFirstSolver();
+        } else if (SOLVER_MODE_ASTAR.equalsIgnoreCase(solverMode)) {
+            return new AStarSolver(Heuristic.parse(PropertyReader.getInstance().getProperty("heuristic", "manhattan"), Heuristic.MANHATTAN));
+        } else if (SOLVER_MODE_BIDIRECTIONAL.equalsIgnoreCase(solverMode)) {
+            return new BidirectionalSolver();
+        } else if (SOLVER_MODE_JPS.equalsIgnoreCase(solverMode)) {
+            return new JumpPointSolver();
+        } else if (SOLVER_MODE_OUT_OF_CORE.equalsIgnoreCase(solverMode)) {
+            return new OutOfCoreSolver();
+        }
+        return null;
+    }
 
+    /**
+     * Finds only the optimal solution with a shortest path solver, without enumerating every possible path
+     * @param solver the solver of the solver mode
+     */
+    private void exploreShortestPath(Solver solver) {
+        int[] shortestPath = solver.solve(Maze.getMaze().getGrid());
+        expandedCells = solver.getExpansions();
+        SolverMetrics.getMetrics().nodesExpanded(expandedCells);
+        if (shortestPath.length > 0) {
+            foundSolution = true;
+            SolverMetrics.getMetrics().solutionFound(shortestPath.length);
+            optimalSolution.clear();
+            for (int cell : shortestPath) {
+                optimalSolution.add(cell);
+            }
+            LoggingController.getLogger().log(Level.INFO, "Found shortest path with length " + getOptimalSolutionLength()
+                    + " after expanding " + expandedCells + " cells");
         } else {
-            // Found a deadlock, so the algorithm starts returning
-            LoggingController.getLogger().log(Level.FINER, ("Found DEADLOCK!"));
+            logUnsolvable();
         }
-        //Setting our wanderer in the previous tile while returning
-        if (path.size() > 1) {
-            currentNode = Maze.getMaze().getNode(path.get(depth - 1));
-            previousNode = Maze.getMaze().getNode(path.get(depth - 2));
-        } else {
-            currentNode = startingNode;
-            previousNode = currentNode;
+    }
+
+    private void logUnsolvable() {
+        LoggingController.getLogger().log(Level.INFO, "Maze is unsolvable, the ending point cannot be reached");
+    }
+
+    /**
+     * Waits for the running simulation to finish
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public void awaitExploration() throws InterruptedException {
+        Thread thread = simulationThread;
+        if (thread != null) {
+            thread.join();
         }
-        LoggingController.getLogger().log(Level.FINEST, "---------------------------------------------------------------");
     }
 
     /**
-     * Deletes the last entry of a list from strings
-     * @param list
+     * @return the number of cells expanded by the last shortest path solver
      */
-    private void deleteLastEntry(List<String> list) {
-        if (!list.isEmpty()) {
-            list.remove(list.size() - 1);
+    public long getExpandedCells() {
+        return expandedCells;
+    }
+
+    /**
+     * @return the cells of the optimal solution, empty if no solution is found
+     */
+    public int[] getOptimalSolution() {
+        synchronized (optimalSolution) {
+            return optimalSolution.toArray();
+        }
+    }
+
+    /**
+     * @return the number of moves of the optimal solution, -1 if no solution is found
+     */
+    public int getOptimalSolutionLength() {
+        return optimalSolution.size() - 1;
+    }
+
+    /**
+     * Finds whether the maze is solvable and which cells can never be on a solution, before exploring it
+     * @return the preprocessor holding the results
+     */
+    private MazePreprocessor preprocess() {
+        long start = System.nanoTime();
+        MazePreprocessor preprocessor = new MazePreprocessor(Maze.getMaze().getGrid());
+        preprocessor.run();
+        SolverMetrics.getMetrics().addPhaseTime(SolverMetrics.Phase.PREPROCESS, System.nanoTime() - start);
+        LoggingController.getLogger().log(Level.INFO, "Preprocessed maze: " + preprocessor.getReachableCells() + " reachable cells, "
+                + preprocessor.getUsefulCells() + " of them can be on a solution");
+        return preprocessor;
+    }
+
+    /**
+     * Exhausts every possible path the wanderer can take in order to find all the possible solutions towards the Goal Tile.
+     * When more than one solver thread is defined the search tree is split between them.
+     * In optimal mode branches that cannot beat the best solution found so far are pruned and only the optimal solution is kept
+     * @param searchGrid the cells of the maze where the cells that cannot be on a solution are obstacles
+     */
+    private void explore(CellGrid searchGrid) {
+        final AtomicInteger bound = SOLVER_MODE_OPTIMAL.equalsIgnoreCase(solverMode) ? new AtomicInteger(Integer.MAX_VALUE) : null;
+        final MazeListener listener = Maze.getMaze().getListener();
+        final SolverMetrics metrics = SolverMetrics.getMetrics();
+        DepthFirstSearch.SearchCallback callback = new DepthFirstSearch.SearchCallback() {
+            @Override
+            public void onMove(int fromCell, int toCell) {
+                metrics.nodeExpanded();
+                moveToTile(listener, fromCell, toCell);
+            }
+
+            @Override
+            public void onSolution(int[] path, int length) {
+                metrics.solutionFound(length);
+                LoggingController.getLogger().log(Level.FINE, "Reached ending point!");
+                foundSolution = true;
+                if (bound != null) {
+                    // Each solution found while pruning is better than the previous ones
+                    updateOptimalSolution(path, length);
+                } else {
+                    // We reached our goal so we register the solution in the solutions registry
+                    registerSolution(path, length);
+                }
+            }
+
+            @Override
+            public void onDeadEnd(int cell) {
+                // Found a deadlock, so the algorithm starts returning
+                metrics.deadEnd();
+                LoggingController.getLogger().log(Level.FINER, "Found DEADLOCK!");
+            }
+
+            @Override
+            public void onBacktrack(int cell, int depth) {
+                metrics.backtracked(depth);
+            }
+        };
+        if (solverThreads > 1) {
+            LoggingController.getLogger().log(Level.INFO, "Enumerating solutions with {0} threads", solverThreads);
+            ParallelPathEnumerator enumerator = new ParallelPathEnumerator(searchGrid, solverThreads);
+            enumerator.setBound(bound);
+            enumerator.explore(startingCell, callback);
+        } else {
+            DepthFirstSearch search = new DepthFirstSearch(searchGrid);
+            search.setBound(bound);
+            search.explore(startingCell, callback);
         }
     }
 
@@ -219,20 +367,15 @@ public class Wanderer {
      * Constructing the displayble solutions as well as the optimal solution, if at least 1 solution is found
      */
     public void displaySolutions() {
-        StringBuilder res = new StringBuilder("\n");
-        if(solutions.keySet().size() > 0) {
-            for (Integer key : solutions.keySet()) {
-                List<String> sols = solutions.get(key);
-                res.append("Number ").append(key).append(" solution: ");
-                if (sols != null) {
-                    res.append(constructDisplayableSolution(sols));
-                }
-                res.append("\n");
+        if(foundSolution) {
+            if (solutions.size() > 0) {
+                LoggingController.getLogger().log(Level.INFO, "Found " + solutions.getNumberOfSolutions() + " solutions");
+            } else if (solutions.getNumberOfSolutions() > 0) {
+                LoggingController.getLogger().log(Level.INFO, "Found " + solutions.getNumberOfSolutions() + " solutions (only counted)");
             }
-            LoggingController.getLogger().log(Level.INFO, res.toString());
 
             if (!optimalSolution.isEmpty()) {
-                res = new StringBuilder(constructDisplayableSolution(optimalSolution));
+                StringBuilder res = new StringBuilder(constructDisplayableSolution(optimalSolution.toArray()));
                 StringBuilder stars = new StringBuilder();
                 for (int i = 0; i < res.length() + 30; i++) {
                     stars.append("*");
@@ -240,104 +383,107 @@ public class Wanderer {
                 StringBuilder logMessage = new StringBuilder(stars).append("\n").append("\tOptimal solution is: ").append(res).append("\n\t").append(stars);
                 LoggingController.getLogger().log(Level.INFO, logMessage.toString());
             }
-            DisplayController.getDisplayController().paintOptimalSolution(optimalSolution);
+            Maze.getMaze().getListener().optimalSolutionFound(optimalSolution.toArray());
         } else {
             LoggingController.getLogger().log(Level.INFO, "No solutions found for this maze");
         }
     }
 
     /**
-     * Get all solutions as a displayable string
-     * @param includeOptimal boolean whether to include the optimal solution in the returning string
-     * @return a human-readable representation of the solutions
+     * Constructs the human-readable string from the path of the solution
+     * @param solution the cells of the solution
+     * @return the human-readable string of the solution
      */
-    public String getAllSolutions(boolean includeOptimal) {
-        StringBuilder res = new StringBuilder();
-        for (Integer key : solutions.keySet()) {
-            List<String> sols = solutions.get(key);
-            res.append("Number ").append(key).append(" solution: ");
-            if (sols != null) {
-                res.append(constructDisplayableSolution(sols));
-            }
-            res.append("\n");
-        }
-        if (includeOptimal) {
-            if (!optimalSolution.isEmpty()) {
-                res.append("\nOptimal solution is: ");
-                res.append(constructDisplayableSolution(optimalSolution));
-            }
-        }
-        return res.toString();
+    public String constructDisplayableSolution(int[] solution) {
+        return constructDisplayableSolution(solution, solution.length);
     }
 
     /**
      * Constructs the human-readable string from the path of the solution
-     * @param solution
+     * @param solution buffer with the cells of the solution
+     * @param length the number of cells of the solution
      * @return the human-readable string of the solution
      */
-    public String constructDisplayableSolution(List<String> solution) {
+    public String constructDisplayableSolution(int[] solution, int length) {
+        CellGrid grid = Maze.getMaze().getGrid();
         StringBuilder res = new StringBuilder();
-        for (String key : solution) {
-            Node node = Maze.getMaze().getNode(key);
-            if (node.isStartingPoint()) {
+        for (int i = 0; i < length; i++) {
+            int cell = solution[i];
+            byte type = grid.getCellType(cell);
+            if (type == CellGrid.STARTING_POINT) {
                 res.append("((S) ");
-            } else if (node.isEndingPoint()) {
+            } else if (type == CellGrid.ENDING_POINT) {
                 res.append("((E) ");
             } else {
                 res.append("((T) ");
             }
-            res.append(node.getPoint().getRow()).append(",").append(node.getPoint().getCol()).append("), ");
+            res.append(grid.rowOf(cell)).append(",").append(grid.colOf(cell)).append("), ");
         }
         res = new StringBuilder(res.substring(0, res.length() - 2));
         return res.toString();
     }
 
+    /**
+     * @param cell the cell index
+     * @return the row|col representation of the cell, used for logging
+     */
+    private String cellToString(int cell) {
+        CellGrid grid = Maze.getMaze().getGrid();
+        return grid.rowOf(cell) + "|" + grid.colOf(cell) + " ";
+    }
+
 
     /**
      * Moves the wanderer towards this tile
-     * @param tile the tile that wanderer should move on to
-     * @return true if the tile is the goal, false otherwise
-     */
-    private boolean moveToTile(Tile tile) {
-        DisplayController.getDisplayController().paintVisitedTile(currentNode);
-        previousNode = currentNode;
-        currentNode = tile;
-        Set<Node> availableChoices = getAvailableChoices();
-        // This is a safety measure in order for the wanderer to not endlessly loop over a path
-        if (!currentNode.isAccessible()) {
-//            ((Tile) currentNode).setMaxVisitTries(availableChoices.size());
-            ((Tile) currentNode).setAccessible(true);
+     * @param listener the observer of the exploration
+     * @param fromCell the cell that wanderer is currently on
+     * @param toCell the cell of the tile that wanderer should move on to
+     */
+    private void moveToTile(MazeListener listener, int fromCell, int toCell) {
+        listener.cellVisited(fromCell);
+        // Checked before building the message, since this runs on every move of the search
+        if (LoggingController.getLogger().isLoggable(Level.FINE)) {
+            LoggingController.getLogger().log(Level.FINE, "Moving from " + cellToString(fromCell) + " to " + cellToString(toCell));
+        }
+        // Perform sleep operation whether sleep duration is defined in configuration.properties
+        if (simulationSleepTime > 0) {
+            try {
+                Thread.sleep(simulationSleepTime);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
         }
-        LoggingController.getLogger().log(Level.FINE, "Moving from " + previousNode.toString() + " to " + tile);
-        return checkIfGoal();
     }
 
     /**
-     * Gets a set of nodes that are valid possible moves from the current Node
-     * @return
+     * @return the number of solutions found, whether they are stored or only counted
      */
-    private Set<Node> getAvailableChoices() {
-        int row = currentNode.getPoint().getRow();
-        int col = currentNode.getPoint().getCol();
-        List<Node> list = new ArrayList<Node>();
-        Node northNode = Maze.getMaze().getNode(row - 1, col);
-        Node southNode = Maze.getMaze().getNode(row + 1, col);
-        Node eastNode = Maze.getMaze().getNode(row, col + 1);
-        Node westNode = Maze.getMaze().getNode(row, col - 1);
-        if (canMoveToNode(northNode)) {
-            list.add(northNode);
-        }
-        if (canMoveToNode(southNode)) {
-            list.add(southNode);
-        }
-        if (canMoveToNode(eastNode)) {
-            list.add(eastNode);
-        }
-        if (canMoveToNode(westNode)) {
-            list.add(westNode);
-        }
+    public long getNumberOfSolutions() {
+        return solutions.getNumberOfSolutions();
+    }
+
+    /**
+     * @return the registry of the solutions found
+     */
+    public SolutionStore getSolutions() {
+        return solutions;
+    }
 
-        return list.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+    /**
+     * Sets a sink that receives every solution found on the next explorations
+     * @param solutionSink the sink, null to remove it
+     */
+    public void setSolutionSink(SolutionSink solutionSink) {
+        this.solutionSink = solutionSink;
+    }
+
+    /**
+     * Sets the exporter the solutions of the next exploration are streamed to, instead of the export file
+     * defined from configuration.properties. The exporter is closed when the exploration finishes
+     * @param solutionExporter the exporter, null to use the one defined from configuration.properties
+     */
+    public void setSolutionExporter(SolutionExporter solutionExporter) {
+        this.nextExporter = solutionExporter;
     }
 
     /**
@@ -346,24 +492,68 @@ public class Wanderer {
      */
     public void reset() {
         foundSolution = false;
-        solutions.clear();
-        numberOfSolutions = 0;
         init();
+        solutions = new SolutionStore(Maze.getMaze().getGrid(), true);
     }
 
     /**
-     * Registers a solution path in the registry
-     * @param path the path containing the coordinates of each node
+     * Registers a solution path in the registry. Can be called concurrently by the solver threads
+     * @param path buffer containing the cells of each node
+     * @param length the number of cells of the solution
      */
-    private void registerSolution(List<String> path) {
-        LoggingController.getLogger().log(Level.INFO, "Found solution!!!");
-        LoggingController.getLogger().log(Level.FINER, constructDisplayableSolution(path));
-        solutions.put(++numberOfSolutions, new ArrayList<String>(path.stream().collect(Collectors.toList())));
-        if (!optimalSolution.isEmpty() && path.size() < optimalSolution.size()) {
-            optimalSolution.clear();
-            optimalSolution.addAll(path);
-        } else if (optimalSolution.isEmpty()) {
-            optimalSolution.addAll(path);
+    private void registerSolution(int[] path, int length) {
+        LoggingController.getLogger().log(Level.FINE, "Found solution!!!");
+        if (LoggingController.getLogger().isLoggable(Level.FINER)) {
+            LoggingController.getLogger().log(Level.FINER, constructDisplayableSolution(path, length));
+        }
+        SolutionSink sink = solutionSink;
+        if (sink != null) {
+            sink.accept(path, length);
+        }
+        SolutionExporter solutionExporter = exporter;
+        if (solutionExporter != null) {
+            try {
+                solutionExporter.accept(path, length);
+            } catch (UncheckedIOException e) {
+                stopExporting(solutionExporter, e);
+            }
+        }
+        solutions.accept(path, length);
+        updateOptimalSolution(path, length);
+    }
+
+    /**
+     * Stops exporting the solutions after the export file could not be written, so the exploration keeps going without it
+     * @param solutionExporter the exporter that failed
+     * @param e the error writing the export file
+     */
+    private synchronized void stopExporting(SolutionExporter solutionExporter, UncheckedIOException e) {
+        // only the first solver thread failing logs and closes the exporter
+        if (exporter != solutionExporter) {
+            return;
+        }
+        exporter = null;
+        LoggingController.getLogger().log(Level.WARNING, "Could not export the solutions, the export is stopped: " + e.getMessage());
+        try {
+            solutionExporter.close();
+        } catch (IOException | UncheckedIOException closeError) {
+            // the file is already unwritable, closing only releases the channel
+        }
+    }
+
+    /**
+     * Keeps the solution as the optimal one if it is shorter than the current optimal solution
+     * @param path buffer containing the cells of each node
+     * @param length the number of cells of the solution
+     */
+    private void updateOptimalSolution(int[] path, int length) {
+        synchronized (optimalSolution) {
+            if (optimalSolution.isEmpty() || length < optimalSolution.size()) {
+                optimalSolution.clear();
+                for (int i = 0; i < length; i++) {
+                    optimalSolution.add(path[i]);
+                }
+            }
         }
     }
 
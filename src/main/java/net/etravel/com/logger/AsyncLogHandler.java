@@ -0,0 +1,193 @@
+package net.etravel.com.logger;
+
+import net.etravel.com.structure.BoundedRingBuffer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Handler that hands the log records to a background writer thread through a bounded lock-free ring buffer,
+ * so the threads logging never wait for the console or the disk. The writer thread formats the records,
+ * publishes them to the sink handler and flushes it whenever the buffer runs empty.
+ * What happens when the buffer is full depends on the overflow policy, but records of WARNING and above are never lost
+ */
+public class AsyncLogHandler extends Handler {
+
+    public enum OverflowPolicy {
+        /**
+         * The logging thread waits for the writer to free some space, nothing is lost
+         */
+        BLOCK,
+        /**
+         * The record is dropped
+         */
+        DROP,
+        /**
+         * Once the buffer is half full only one record in SAMPLE_RATE is kept, the others are dropped
+         */
+        SAMPLE;
+
+        /**
+         * @param name the name of the policy, case insensitive
+         * @param defaultPolicy the policy returned when the name is not a policy
+         * @return the policy with that name
+         */
+        public static OverflowPolicy parse(String name, OverflowPolicy defaultPolicy) {
+            for (OverflowPolicy policy : values()) {
+                if (policy.name().equalsIgnoreCase(name.trim())) {
+                    return policy;
+                }
+            }
+            return defaultPolicy;
+        }
+    }
+
+    private static final int SAMPLE_RATE = 16;
+    /**
+     * Longest time the writer sleeps when there is nothing to write
+     */
+    private static final long PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    /**
+     * How long a blocked logging thread waits before trying again to queue its record
+     */
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Handler sink;
+    private final BoundedRingBuffer<LogRecord> records;
+    private final OverflowPolicy overflowPolicy;
+    private final Thread writer;
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private volatile boolean writerIdle = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts the writer thread
+     * @param sink the handler the records are written to
+     * @param capacity the maximum number of records waiting for the writer
+     * @param overflowPolicy what to do with a record when the buffer is full
+     */
+    public AsyncLogHandler(Handler sink, int capacity, OverflowPolicy overflowPolicy) {
+        this.sink = sink;
+        this.records = new BoundedRingBuffer<>(capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.writer = new Thread(this::writeRecords, "log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record for the writer thread
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (closed || !isLoggable(record)) {
+            return;
+        }
+        // The caller is inferred from the stack, so it must be done on the logging thread
+        record.getSourceClassName();
+        boolean important = record.getLevel().intValue() >= Level.WARNING.intValue();
+        if (!important && overflowPolicy == OverflowPolicy.SAMPLE && records.size() >= records.capacity() / 2
+                && sampleCounter.getAndIncrement() % SAMPLE_RATE != 0) {
+            droppedRecords.incrementAndGet();
+            return;
+        }
+        while (!records.offer(record)) {
+            if (!important && overflowPolicy != OverflowPolicy.BLOCK) {
+                droppedRecords.incrementAndGet();
+                return;
+            }
+            if (closed) {
+                return;
+            }
+            wakeWriter();
+            LockSupport.parkNanos(BACKOFF_NANOS);
+        }
+        if (writerIdle) {
+            wakeWriter();
+        }
+    }
+
+    private void wakeWriter() {
+        LockSupport.unpark(writer);
+    }
+
+    /**
+     * Loop of the writer thread, until the handler is closed and every queued record is written
+     */
+    private void writeRecords() {
+        boolean written = false;
+        long reportedDrops = 0;
+        while (true) {
+            LogRecord record = records.poll();
+            if (record != null) {
+                sink.publish(record);
+                written = true;
+                continue;
+            }
+            long dropped = droppedRecords.get() - reportedDrops;
+            if (dropped > 0) {
+                reportedDrops += dropped;
+                sink.publish(new LogRecord(Level.WARNING, dropped + " log records dropped, the log buffer was full"));
+                written = true;
+            }
+            if (written) {
+                sink.flush();
+                written = false;
+            }
+            if (closed) {
+                if (records.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            writerIdle = true;
+            // checked again after announcing the writer is idle, so a record queued meanwhile is not left waiting
+            if (records.isEmpty()) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            writerIdle = false;
+        }
+    }
+
+    /**
+     * Waits until the queued records are written and flushes the sink
+     */
+    @Override
+    public void flush() {
+        while (!records.isEmpty() && writer.isAlive()) {
+            wakeWriter();
+            LockSupport.parkNanos(BACKOFF_NANOS);
+        }
+        sink.flush();
+    }
+
+    /**
+     * Writes the queued records, stops the writer thread and closes the sink
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        wakeWriter();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    /**
+     * @return the number of records dropped because the buffer was full
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+}
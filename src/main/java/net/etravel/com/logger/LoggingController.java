@@ -2,14 +2,30 @@ package net.etravel.com.logger;
 
 import net.etravel.com.properties.PropertyReader;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.logging.StreamHandler;
 
 public class LoggingController {
 
     private static final LoggingController instance = new LoggingController();
+    private static final int LOG_FILE_BUFFER_SIZE = 1 << 16;
+    /**
+     * Source of every record, which is what walking the stack for the caller would find anyway since all the records
+     * are logged through this class, without the cost of walking it
+     */
+    private static final String SOURCE_CLASS = LoggingController.class.getName();
+    private static final String SOURCE_METHOD = "log";
     private static Logger logger;
     static boolean isInitialized;
 
@@ -21,11 +37,38 @@ public class LoggingController {
         isInitialized = true;
         logger = Logger.getLogger((instance.getClass().getSimpleName()));
         Level log_level = Level.parse(PropertyReader.getInstance().getProperty("log_level", Level.INFO.toString()));
-        Handler consoleHandler = new ConsoleHandler();
-        consoleHandler.setLevel(log_level);
-        logger.addHandler(consoleHandler);
+        Handler handler = createSinkHandler();
+        handler.setLevel(log_level);
+        if (PropertyReader.getInstance().getBoolean("log_async", false)) {
+            int bufferSize = PropertyReader.getInstance().getInteger("log_buffer_size", 8192);
+            AsyncLogHandler.OverflowPolicy overflowPolicy = AsyncLogHandler.OverflowPolicy.parse(
+                    PropertyReader.getInstance().getProperty("log_overflow", "block"), AsyncLogHandler.OverflowPolicy.BLOCK);
+            handler = new AsyncLogHandler(handler, bufferSize, overflowPolicy);
+        }
+        handler.setLevel(log_level);
+        logger.addHandler(handler);
         logger.setLevel(log_level);
         logger.setUseParentHandlers(false);
+        // Buffered records would be lost on exit otherwise
+        Runtime.getRuntime().addShutdownHook(new Thread(handler::close));
+    }
+
+    /**
+     * @return a handler writing to the log file defined in configuration.properties through a buffer,
+     * or to the console when there is no log file
+     */
+    private static Handler createSinkHandler() {
+        String logFile = PropertyReader.getInstance().getProperty("log_file", "").trim();
+        if (!logFile.isEmpty()) {
+            try {
+                OutputStream output = new BufferedOutputStream(Files.newOutputStream(Paths.get(logFile),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND), LOG_FILE_BUFFER_SIZE);
+                return new StreamHandler(output, new SimpleFormatter());
+            } catch (IOException e) {
+                System.err.println("Could not open log file " + logFile + ", logging to the console: " + e.getMessage());
+            }
+        }
+        return new ConsoleHandler();
     }
     public static LoggingController getLogger() {
         if(!isInitialized){
@@ -34,8 +77,49 @@ public class LoggingController {
         return instance;
     }
 
+    /**
+     * Checks whether a message of this level would be logged. Hot paths should check it before building their
+     * message so that nothing is allocated when the level is off
+     * @param level the level of the message
+     * @return true if messages of this level are logged
+     */
+    public boolean isLoggable(Level level){
+        return logger.isLoggable(level);
+    }
+
     public void log(Level level, String log){
-        logger.log(level, log);
+        logger.logp(level, SOURCE_CLASS, SOURCE_METHOD, log);
+    }
+
+    /**
+     * Logs a message that is only built if the level is logged
+     * @param level the level of the message
+     * @param logSupplier builds the message
+     */
+    public void log(Level level, Supplier<String> logSupplier){
+        if (logger.isLoggable(level)) {
+            logger.logp(level, SOURCE_CLASS, SOURCE_METHOD, logSupplier.get());
+        }
+    }
+
+    /**
+     * Logs a message with a parameter, which is only formatted if the level is logged
+     * @param level the level of the message
+     * @param log the message, where {0} is replaced by the parameter (java.text.MessageFormat syntax)
+     * @param param the parameter of the message
+     */
+    public void log(Level level, String log, Object param){
+        logger.logp(level, SOURCE_CLASS, SOURCE_METHOD, log, param);
+    }
+
+    /**
+     * Logs a message with parameters, which is only formatted if the level is logged
+     * @param level the level of the message
+     * @param log the message, where {0}, {1}, ... are replaced by the parameters (java.text.MessageFormat syntax)
+     * @param params the parameters of the message
+     */
+    public void log(Level level, String log, Object... params){
+        logger.logp(level, SOURCE_CLASS, SOURCE_METHOD, log, params);
     }
 
 }
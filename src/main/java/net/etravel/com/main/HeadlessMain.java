@@ -0,0 +1,45 @@
+package net.etravel.com.main;
+
+import net.etravel.com.controllers.Maze;
+import net.etravel.com.controllers.Wanderer;
+import net.etravel.com.logger.LoggingController;
+import net.etravel.com.metrics.SolverMetrics;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.logging.Level;
+
+/**
+ * Application Maze without a GUI.
+ * Generates a random maze, or loads the maze file given as argument, explores it and reports the results in the console.
+ * No SWT class is loaded, so it runs on machines without a display and pays no UI cost on the moves of the wanderer
+ */
+public class HeadlessMain {
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        long start = System.nanoTime();
+        LoggingController.getLogger().log(Level.INFO, "Initializing game. . .");
+        SolverMetrics.register();
+        if (args.length > 0) {
+            Maze.getMaze().load(Paths.get(args[0]));
+        } else {
+            Maze.getMaze().initMaze();
+        }
+        Wanderer.getWanderer().reset();
+        LoggingController.getLogger().log(Level.INFO, "Game Initialized!");
+
+        Wanderer.getWanderer().exploreMaze();
+        Wanderer.getWanderer().awaitExploration();
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        Wanderer wanderer = Wanderer.getWanderer();
+        System.out.println("Maze: " + Maze.rowSize + "x" + Maze.colSize + " with " + Maze.obstacles + " obstacles");
+        if (wanderer.getOptimalSolutionLength() < 0) {
+            System.out.println("No solution was found for this maze");
+        } else {
+            System.out.println("Solutions found: " + wanderer.getNumberOfSolutions());
+            System.out.println("Optimal solution length: " + wanderer.getOptimalSolutionLength());
+        }
+        System.out.println("Finished in " + elapsedMillis + " ms");
+    }
+}
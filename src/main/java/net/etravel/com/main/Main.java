@@ -2,13 +2,16 @@ package net.etravel.com.main;
 
 import net.etravel.com.controllers.DisplayController;
 import net.etravel.com.logger.LoggingController;
+import net.etravel.com.metrics.SolverMetrics;
 import net.etravel.com.resources.ResourceManager;
 import net.etravel.com.controllers.Maze;
 import net.etravel.com.controllers.Wanderer;
+import net.etravel.com.solvers.SolutionStore;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.MouseAdapter;
 import org.eclipse.swt.events.MouseEvent;
+import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.layout.RowLayout;
@@ -16,7 +19,11 @@ import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
 
+import java.util.Arrays;
 import java.util.logging.Level;
 
 /**
@@ -42,6 +49,7 @@ public class Main {
         });
 
         buildUI(shell);
+        Maze.getMaze().setListener(DisplayController.getDisplayController());
 
         shell.open();
         while (!shell.isDisposed()) {
@@ -89,8 +97,7 @@ public class Main {
         lblSolutions.setToolTipText("Show Solutions!");
 
         cmpMazeContainer = new Composite(cmpMainContainer, SWT.NONE);
-        GridLayout cmpMazeContainerLayout = new GridLayout(Maze.colSize, true);
-        cmpMazeContainer.setLayout(cmpMazeContainerLayout);
+        cmpMazeContainer.setLayout(new FillLayout());
         GridData cmpMazeContainerData = new GridData(SWT.FILL, SWT.FILL, true, true);
         cmpMazeContainer.setLayoutData(cmpMazeContainerData);
         cmpMazeContainer.setBackground(ResourceManager.getColor(SWT.COLOR_WIDGET_LIGHT_SHADOW));
@@ -126,24 +133,114 @@ public class Main {
         lblSolutions.addMouseListener(new MouseAdapter() {
             @Override
             public void mouseUp(MouseEvent mouseEvent) {
-                Shell shell = new Shell(Display.getCurrent().getActiveShell(), SWT.CLOSE | SWT.TITLE | SWT.MIN | SWT.MAX | SWT.RESIZE);
-                shell.setText("Solutions Found");
-                shell.setImage(ResourceManager.getImage("/icons/solution_small.png"));
-                shell.setLayout(new GridLayout(1, false));
-                Label lbl = new Label(shell, SWT.NONE);
-                lbl.setText(Wanderer.getWanderer().getAllSolutions(true));
-                shell.pack();
-                shell.open();
+                showSolutionsWindow();
             }
         });
     }
 
+    /**
+     * Opens the window with the solutions found. The table is virtual, so only the visible rows are built
+     * from the solutions registry and opening it takes the same time whatever the number of solutions
+     */
+    private static void showSolutionsWindow() {
+        Shell shell = new Shell(Display.getCurrent().getActiveShell(), SWT.CLOSE | SWT.TITLE | SWT.MIN | SWT.MAX | SWT.RESIZE);
+        shell.setText("Solutions Found");
+        shell.setImage(ResourceManager.getImage("/icons/solution_small.png"));
+        shell.setLayout(new GridLayout(1, false));
+
+        Wanderer wanderer = Wanderer.getWanderer();
+        SolutionStore solutions = wanderer.getSolutions();
+        int numberOfRows = solutions == null ? 0 : solutions.size();
+        Label lblSummary = new Label(shell, SWT.NONE);
+        lblSummary.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, false));
+        lblSummary.setText(getSolutionsSummary(wanderer, solutions));
+
+        Table table = new Table(shell, SWT.VIRTUAL | SWT.BORDER | SWT.FULL_SELECTION);
+        table.setHeaderVisible(true);
+        table.setLinesVisible(true);
+        table.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true));
+        TableColumn colNumber = new TableColumn(table, SWT.NONE);
+        colNumber.setText("Number");
+        colNumber.setWidth(80);
+        TableColumn colLength = new TableColumn(table, SWT.NONE);
+        colLength.setText("Length");
+        colLength.setWidth(80);
+        TableColumn colSolution = new TableColumn(table, SWT.NONE);
+        colSolution.setText("Solution");
+        colSolution.setWidth(1200);
+
+        // row -> solution index, null while the solutions are shown in the order they were found
+        final int[][] rowOrder = {null};
+        table.addListener(SWT.SetData, event -> {
+            TableItem item = (TableItem) event.item;
+            int index = rowOrder[0] == null ? event.index : rowOrder[0][event.index];
+            item.setText(new String[]{String.valueOf(index + 1), String.valueOf(solutions.length(index) - 1),
+                    wanderer.constructDisplayableSolution(solutions.get(index))});
+        });
+        colNumber.addListener(SWT.Selection, event -> {
+            rowOrder[0] = null;
+            table.setSortColumn(colNumber);
+            table.setSortDirection(SWT.UP);
+            table.clearAll();
+        });
+        colLength.addListener(SWT.Selection, event -> {
+            boolean ascending = table.getSortColumn() != colLength || table.getSortDirection() != SWT.UP;
+            rowOrder[0] = sortByLength(solutions, numberOfRows, ascending);
+            table.setSortColumn(colLength);
+            table.setSortDirection(ascending ? SWT.UP : SWT.DOWN);
+            table.clearAll();
+        });
+        table.setItemCount(numberOfRows);
+
+        shell.setSize(1000, 600);
+        shell.open();
+    }
+
+    /**
+     * @return the number of solutions and the optimal solution, as displayed above the solutions table
+     */
+    private static String getSolutionsSummary(Wanderer wanderer, SolutionStore solutions) {
+        long numberOfSolutions = solutions == null ? 0 : solutions.getNumberOfSolutions();
+        StringBuilder summary = new StringBuilder("Number of solutions: ").append(numberOfSolutions);
+        if (solutions != null && solutions.size() == 0 && numberOfSolutions > 0) {
+            summary.append(" (only counted)");
+        }
+        int[] optimalSolution = wanderer.getOptimalSolution();
+        if (optimalSolution.length > 0) {
+            summary.append("\nOptimal solution is: ").append(wanderer.constructDisplayableSolution(optimalSolution));
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Orders the solutions by length, the solutions with the same length keeping the order they were found
+     * @param solutions the solutions registry
+     * @param count the number of solutions to order
+     * @param ascending true for the shortest solutions first
+     * @return the solution index of each row
+     */
+    private static int[] sortByLength(SolutionStore solutions, int count, boolean ascending) {
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            // the length in the high bits orders the solutions, the index in the low bits keeps ties in the order found
+            int length = ascending ? solutions.length(i) : Integer.MAX_VALUE - solutions.length(i);
+            keys[i] = ((long) length << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
     /**
      * Initializes game by constructor the GUI of the maze, the Maze's data
      * and resetting our wanderer in the initial state inside the created maze
      */
     private static void initializeGame() {
         LoggingController.getLogger().log(Level.INFO, "Initializing game. . .");
+        SolverMetrics.register();
         DisplayController.getDisplayController().initMazeGui(cmpMazeContainer);
         Maze.getMaze().initMaze();
 
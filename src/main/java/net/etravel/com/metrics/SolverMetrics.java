@@ -0,0 +1,201 @@
+package net.etravel.com.metrics;
+
+import net.etravel.com.logger.LoggingController;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Live metrics of the maze generation and exploration, published as a JMX MBean so a long run can be watched from
+ * JConsole. The counters are updated on every move of the solver threads, so they are striped (LongAdder) and
+ * the threads do not contend on a single shared value
+ */
+public class SolverMetrics implements SolverMetricsMBean {
+
+    public enum Phase {
+        GENERATE, PREPROCESS, SEARCH, RENDER
+    }
+
+    public static final String OBJECT_NAME = "net.etravel.com:type=SolverMetrics";
+
+    private static final SolverMetrics instance = new SolverMetrics();
+
+    private final LongAdder nodesExpanded = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAdder deadEnds = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final LongAdder solutionsFound = new LongAdder();
+    /**
+     * Time spent in each phase (in nanos), indexed by the ordinal of the phase
+     */
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(Phase.values().length);
+    /**
+     * Start of the running search (System.nanoTime), 0 when no search runs
+     */
+    private volatile long searchStart = 0;
+
+    private SolverMetrics() {
+    }
+
+    public static SolverMetrics getMetrics() {
+        return instance;
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server, once
+     */
+    public static void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(instance, name);
+            }
+        } catch (JMException e) {
+            LoggingController.getLogger().log(Level.WARNING, "Could not register the solver metrics: " + e.getMessage());
+        }
+    }
+
+    public void nodeExpanded() {
+        nodesExpanded.increment();
+    }
+
+    public void nodesExpanded(long nodes) {
+        nodesExpanded.add(nodes);
+    }
+
+    /**
+     * @param depth the number of cells of the path when returning
+     */
+    public void backtracked(int depth) {
+        backtracks.increment();
+        maxDepth.accumulate(depth);
+    }
+
+    public void deadEnd() {
+        deadEnds.increment();
+    }
+
+    /**
+     * @param length the number of cells of the solution
+     */
+    public void solutionFound(int length) {
+        solutionsFound.increment();
+        maxDepth.accumulate(length);
+    }
+
+    /**
+     * Clears the metrics of the previous exploration
+     */
+    public void explorationStarted() {
+        nodesExpanded.reset();
+        backtracks.reset();
+        deadEnds.reset();
+        maxDepth.reset();
+        solutionsFound.reset();
+        phaseNanos.set(Phase.PREPROCESS.ordinal(), 0);
+        phaseNanos.set(Phase.SEARCH.ordinal(), 0);
+    }
+
+    public void searchStarted() {
+        searchStart = System.nanoTime();
+    }
+
+    public void searchFinished() {
+        long start = searchStart;
+        if (start != 0) {
+            phaseNanos.set(Phase.SEARCH.ordinal(), System.nanoTime() - start);
+            searchStart = 0;
+        }
+    }
+
+    /**
+     * Adds time spent in a phase. Generating a maze starts a new maze, so it replaces the previous times instead
+     * @param phase the phase
+     * @param nanos the time spent (in nanos)
+     */
+    public void addPhaseTime(Phase phase, long nanos) {
+        if (phase == Phase.GENERATE) {
+            for (int i = 0; i < phaseNanos.length(); i++) {
+                phaseNanos.set(i, 0);
+            }
+        }
+        phaseNanos.addAndGet(phase.ordinal(), nanos);
+    }
+
+    @Override
+    public long getNodesExpanded() {
+        return nodesExpanded.sum();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public long getDeadEnds() {
+        return deadEnds.sum();
+    }
+
+    @Override
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public long getSolutionsFound() {
+        return solutionsFound.sum();
+    }
+
+    @Override
+    public double getSolutionsPerSecond() {
+        long nanos = getSearchNanos();
+        return nanos > 0 ? getSolutionsFound() * 1e9 / nanos : 0;
+    }
+
+    @Override
+    public boolean isSearching() {
+        return searchStart != 0;
+    }
+
+    @Override
+    public long getGenerateTimeMillis() {
+        return phaseNanos.get(Phase.GENERATE.ordinal()) / 1000000;
+    }
+
+    @Override
+    public long getPreprocessTimeMillis() {
+        return phaseNanos.get(Phase.PREPROCESS.ordinal()) / 1000000;
+    }
+
+    @Override
+    public long getSearchTimeMillis() {
+        return getSearchNanos() / 1000000;
+    }
+
+    @Override
+    public long getRenderTimeMillis() {
+        return phaseNanos.get(Phase.RENDER.ordinal()) / 1000000;
+    }
+
+    private long getSearchNanos() {
+        long start = searchStart;
+        return start != 0 ? System.nanoTime() - start : phaseNanos.get(Phase.SEARCH.ordinal());
+    }
+
+    @Override
+    public void reset() {
+        explorationStarted();
+        searchStart = 0;
+        for (int i = 0; i < phaseNanos.length(); i++) {
+            phaseNanos.set(i, 0);
+        }
+    }
+}
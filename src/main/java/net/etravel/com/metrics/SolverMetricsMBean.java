@@ -0,0 +1,55 @@
+package net.etravel.com.metrics;
+
+/**
+ * Management interface of the solver metrics, as shown in JConsole (net.etravel.com:type=SolverMetrics)
+ */
+public interface SolverMetricsMBean {
+
+    /**
+     * @return the number of moves of the enumerating searches plus the cells expanded by the shortest path solvers
+     */
+    long getNodesExpanded();
+
+    /**
+     * @return the number of times a search returned from a cell after examining all its moves
+     */
+    long getBacktracks();
+
+    /**
+     * @return the number of cells reached without any available move
+     */
+    long getDeadEnds();
+
+    /**
+     * @return the number of cells of the longest path explored
+     */
+    long getMaxDepth();
+
+    long getSolutionsFound();
+
+    /**
+     * @return the solutions found per second of search, while the search runs or for the last search
+     */
+    double getSolutionsPerSecond();
+
+    boolean isSearching();
+
+    long getGenerateTimeMillis();
+
+    long getPreprocessTimeMillis();
+
+    /**
+     * @return the time spent searching, up to now while the search runs
+     */
+    long getSearchTimeMillis();
+
+    /**
+     * @return the time spent painting the maze since it was generated
+     */
+    long getRenderTimeMillis();
+
+    /**
+     * Clears every metric
+     */
+    void reset();
+}
@@ -0,0 +1,74 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntBinaryHeap;
+
+import java.util.Arrays;
+
+/**
+ * A* shortest path solver with a pluggable heuristic.
+ * The open set is a binary heap of cell indices ordered by the estimated path length, and ties are broken in favour
+ * of the cells closer to the ending cell so that open mazes are crossed without expanding every equal-cost cell
+ */
+public class AStarSolver implements Solver {
+
+    private final Heuristic heuristic;
+    private long expansions = 0;
+
+    public AStarSolver(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    @Override
+    public int[] solve(CellGrid grid) {
+        expansions = 0;
+        if (grid == null || grid.getStartingCell() < 0 || grid.getEndingCell() < 0) {
+            return new int[0];
+        }
+        int startCell = grid.getStartingCell();
+        int endCell = grid.getEndingCell();
+        // distance from the starting cell, -1 for cells not reached yet
+        int[] distances = new int[grid.size()];
+        Arrays.fill(distances, -1);
+        int[] parent = new int[grid.size()];
+        boolean[] closed = new boolean[grid.size()];
+        IntBinaryHeap open = new IntBinaryHeap(grid.size());
+
+        distances[startCell] = 0;
+        parent[startCell] = startCell;
+        open.push(startCell, key(0, heuristic.estimate(grid, startCell, endCell)));
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == endCell) {
+                return PathBuilder.fromParents(parent, startCell, endCell);
+            }
+            closed[current] = true;
+            expansions++;
+            int distance = distances[current] + 1;
+            for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                int next = grid.neighbour(current, d);
+                if (next == -1 || closed[next] || grid.isObstacle(next)) {
+                    continue;
+                }
+                if (distances[next] == -1 || distance < distances[next]) {
+                    distances[next] = distance;
+                    parent[next] = current;
+                    open.push(next, key(distance, heuristic.estimate(grid, next, endCell)));
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * @return the heap key ordering the cells by estimated path length and then by estimated distance to the end
+     */
+    static long key(int distance, int estimate) {
+        return ((long) (distance + estimate) << 32) | estimate;
+    }
+
+    @Override
+    public long getExpansions() {
+        return expansions;
+    }
+}
@@ -0,0 +1,119 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+import java.util.Arrays;
+
+/**
+ * Bidirectional breadth-first shortest path solver.
+ * Grows one frontier from the starting cell and one from the ending cell, always expanding a whole level of the
+ * smaller frontier, and stitches the path together where they meet. On large mazes both searches only need to
+ * cover about half the distance, so far fewer cells are touched than with a one-sided breadth-first search
+ */
+public class BidirectionalSolver implements Solver {
+
+    private long expansions = 0;
+
+    @Override
+    public int[] solve(CellGrid grid) {
+        expansions = 0;
+        if (grid == null || grid.getStartingCell() < 0 || grid.getEndingCell() < 0) {
+            return new int[0];
+        }
+        int startCell = grid.getStartingCell();
+        int endCell = grid.getEndingCell();
+        if (startCell == endCell) {
+            return new int[]{startCell};
+        }
+        Frontier forward = new Frontier(grid.size(), startCell);
+        Frontier backward = new Frontier(grid.size(), endCell);
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            Frontier current = forward.size() <= backward.size() ? forward : backward;
+            Frontier other = current == forward ? backward : forward;
+            // best meeting found on this level, as cells (from current, to other) and the length of the path
+            int bestFrom = -1;
+            int bestTo = -1;
+            int bestLength = Integer.MAX_VALUE;
+            int levelEnd = current.tail;
+            while (current.head < levelEnd) {
+                int cell = current.queue[current.head++];
+                expansions++;
+                for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                    int next = grid.neighbour(cell, d);
+                    if (next == -1 || grid.isObstacle(next)) {
+                        continue;
+                    }
+                    if (other.parent[next] != -1) {
+                        int length = current.distance[cell] + 1 + other.distance[next];
+                        if (length < bestLength) {
+                            bestLength = length;
+                            bestFrom = cell;
+                            bestTo = next;
+                        }
+                    }
+                    if (current.parent[next] == -1) {
+                        current.parent[next] = cell;
+                        current.distance[next] = current.distance[cell] + 1;
+                        current.queue[current.tail++] = next;
+                    }
+                }
+            }
+            if (bestFrom != -1) {
+                return current == forward
+                        ? stitch(forward, backward, bestFrom, bestTo, bestLength)
+                        : stitch(forward, backward, bestTo, bestFrom, bestLength);
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Builds the path from the starting cell to the forward meeting cell and from the backward meeting cell to the ending cell
+     */
+    private int[] stitch(Frontier forward, Frontier backward, int forwardCell, int backwardCell, int moves) {
+        int[] path = new int[moves + 1];
+        int i = forward.distance[forwardCell];
+        for (int cell = forwardCell; i >= 0; cell = forward.parent[cell]) {
+            path[i--] = cell;
+        }
+        i = forward.distance[forwardCell] + 1;
+        for (int cell = backwardCell; i < path.length; cell = backward.parent[cell]) {
+            path[i++] = cell;
+        }
+        return path;
+    }
+
+    @Override
+    public long getExpansions() {
+        return expansions;
+    }
+
+    /**
+     * The state of the search from one side
+     */
+    private static class Frontier {
+        final int[] parent;
+        final int[] distance;
+        final int[] queue;
+        int head = 0;
+        int tail = 0;
+
+        Frontier(int size, int root) {
+            parent = new int[size];
+            Arrays.fill(parent, -1);
+            distance = new int[size];
+            queue = new int[size];
+            parent[root] = root;
+            queue[tail++] = root;
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+
+        int size() {
+            return tail - head;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first shortest path solver.
+ * Every node is visited at most once, so the optimal path is found in linear time
+ * instead of enumerating every possible path like the Wanderer does
+ */
+public class BreadthFirstSolver implements Solver {
+
+    private long expansions = 0;
+
+    /**
+     * Finds the shortest path from the starting node to the ending node of the maze
+     * @param grid the cells of the maze
+     * @return the cells of the path from start to end (both included), empty if the end is unreachable
+     */
+    @Override
+    public int[] solve(CellGrid grid) {
+        expansions = 0;
+        if (grid == null || grid.getStartingCell() < 0 || grid.getEndingCell() < 0) {
+            return new int[0];
+        }
+        int startCell = grid.getStartingCell();
+        int endCell = grid.getEndingCell();
+
+        // parent[i] holds the cell we came from, -1 for cells not visited yet
+        int[] parent = new int[grid.size()];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = startCell;
+        parent[startCell] = startCell;
+
+        while (head < tail && parent[endCell] == -1) {
+            int current = queue[head++];
+            expansions++;
+            for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                int next = grid.neighbour(current, d);
+                if (next != -1 && parent[next] == -1 && !grid.isObstacle(next)) {
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        if (parent[endCell] == -1) {
+            return new int[0];
+        }
+        return PathBuilder.fromParents(parent, startCell, endCell);
+    }
+
+    @Override
+    public long getExpansions() {
+        return expansions;
+    }
+}
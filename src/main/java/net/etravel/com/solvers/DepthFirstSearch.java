@@ -0,0 +1,217 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Iterative depth-first search engine which exhausts every simple path from the starting cell towards the ending cell.
+ * Instead of recursing once per step, it keeps an explicit stack of (cell, next direction) frames, so it runs at any
+ * depth without a large thread stack. The only tile state changed during the search is the on-path marker, which is
+ * undone while popping the frames
+ */
+public class DepthFirstSearch {
+
+    /**
+     * Receives the events of the search
+     */
+    public interface SearchCallback {
+
+        /**
+         * Called when the search moves from a cell to one of its neighbours
+         */
+        void onMove(int fromCell, int toCell);
+
+        /**
+         * Called when the ending cell is reached
+         * @param path buffer with the cells of the solution from the starting to the ending cell. It is reused by the
+         *             search, so it should be copied if needed after returning
+         * @param length the number of cells of the solution
+         */
+        void onSolution(int[] path, int length);
+
+        /**
+         * Called when a cell has no available moves
+         */
+        void onDeadEnd(int cell);
+
+        /**
+         * Called when the search returns from a cell after examining all its moves
+         * @param cell the cell the search returns from
+         * @param depth the number of cells of the path, up to this cell
+         */
+        default void onBacktrack(int cell, int depth) {
+        }
+    }
+
+    private final CellGrid grid;
+    private final int endingCell;
+    /**
+     * The cells of the frames, which is also the path that is currently explored
+     */
+    private final int[] cells;
+    /**
+     * The position in the direction order of the next direction that should be examined for each frame
+     */
+    private final int[] nextDirections;
+    /**
+     * The order the directions are examined for each frame, packed 2 bits per direction (first direction in the lowest bits)
+     */
+    private final int[] directionOrders;
+    /**
+     * Marker of the cells that are currently on the path, indexed by cell
+     */
+    private final boolean[] onPath;
+    /**
+     * Number of frames in the stack
+     */
+    private int depth = 0;
+    /**
+     * Number of cells of the best solution found so far, shared between searches.
+     * When set, branches that cannot beat it are pruned and neighbours are examined closest to the ending cell first
+     */
+    private AtomicInteger bound = null;
+    /**
+     * Scratch buffers used while ordering the directions of a cell
+     */
+    private final int[] orderDistances = new int[CellGrid.DIRECTIONS];
+    private final int[] orderDirections = new int[CellGrid.DIRECTIONS];
+
+    /**
+     * The directions in the order N, S, E, W
+     */
+    private static final int DEFAULT_ORDER = (CellGrid.WEST << 6) | (CellGrid.EAST << 4) | (CellGrid.SOUTH << 2) | CellGrid.NORTH;
+
+    public DepthFirstSearch(CellGrid grid) {
+        this.grid = grid;
+        this.endingCell = grid.getEndingCell();
+        // one more slot for the ending cell when a solution is found
+        this.cells = new int[grid.size() + 1];
+        this.nextDirections = new int[grid.size()];
+        this.directionOrders = new int[grid.size()];
+        this.onPath = new boolean[grid.size()];
+    }
+
+    /**
+     * Enables branch-and-bound: only solutions shorter than the bound are reported, and the bound is lowered with each one.
+     * A branch is cut when its length plus the Manhattan distance towards the ending cell cannot beat the bound
+     * @param bound the number of cells of the best solution found so far (Integer.MAX_VALUE if none),
+     *              it can be shared between searches running in parallel. Null explores every path
+     */
+    public void setBound(AtomicInteger bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Exhausts every simple path from a cell towards the ending cell
+     * @param startingCell the cell the search starts from
+     * @param callback receives the moves and the solutions found
+     */
+    public void explore(int startingCell, SearchCallback callback) {
+        explore(new int[]{startingCell}, 1, callback);
+    }
+
+    /**
+     * Exhausts every simple path towards the ending cell that begins with the given prefix.
+     * The cells of the prefix before the last one are considered already explored
+     * @param prefix the cells of the path the search continues from, starting with the starting cell
+     * @param prefixLength the number of cells of the prefix
+     * @param callback receives the moves and the solutions found
+     */
+    public void explore(int[] prefix, int prefixLength, SearchCallback callback) {
+        depth = 0;
+        for (int i = 0; i < prefixLength - 1; i++) {
+            cells[depth] = prefix[i];
+            nextDirections[depth] = CellGrid.DIRECTIONS;
+            onPath[prefix[i]] = true;
+            depth++;
+        }
+        push(prefix[prefixLength - 1], callback);
+        while (depth > 0) {
+            int top = depth - 1;
+            int cell = cells[top];
+            int position = nextDirections[top];
+            if (position == CellGrid.DIRECTIONS) {
+                // every direction is examined, so returning from this cell
+                if (top >= prefixLength - 1) {
+                    callback.onBacktrack(cell, depth);
+                }
+                onPath[cell] = false;
+                depth--;
+                continue;
+            }
+            nextDirections[top] = position + 1;
+            int next = grid.neighbour(cell, (directionOrders[top] >>> (position << 1)) & 3);
+            // the ending cell is handled when pushing the frame, so that it is always examined first
+            if (next != endingCell && canMoveTo(next) && !isPruned(next)) {
+                callback.onMove(cell, next);
+                push(next, callback);
+            }
+        }
+    }
+
+    /**
+     * Pushes a new frame in the stack and reports a solution if the ending cell is a neighbour of it
+     */
+    private void push(int cell, SearchCallback callback) {
+        cells[depth] = cell;
+        nextDirections[depth] = 0;
+        directionOrders[depth] = bound == null ? DEFAULT_ORDER : goalDirectedOrder(cell);
+        onPath[cell] = true;
+        depth++;
+
+        int choices = 0;
+        boolean endingCellIsNeighbour = false;
+        for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+            int next = grid.neighbour(cell, d);
+            if (canMoveTo(next)) {
+                choices++;
+                endingCellIsNeighbour |= next == endingCell;
+            }
+        }
+        if (choices == 0) {
+            callback.onDeadEnd(cell);
+        } else if (endingCellIsNeighbour && !isPruned(endingCell)) {
+            callback.onMove(cell, endingCell);
+            cells[depth] = endingCell;
+            if (bound != null) {
+                bound.accumulateAndGet(depth + 1, Math::min);
+            }
+            callback.onSolution(cells, depth + 1);
+        }
+    }
+
+    /**
+     * @param next the cell the path would continue to
+     * @return true if branch-and-bound is enabled and no path through the cell can beat the best solution found so far
+     */
+    private boolean isPruned(int next) {
+        return bound != null && depth + 1 + grid.manhattanDistance(next, endingCell) >= bound.get();
+    }
+
+    /**
+     * @return the directions of a cell ordered by the Manhattan distance of the neighbours towards the ending cell
+     */
+    private int goalDirectedOrder(int cell) {
+        int[] distances = orderDistances;
+        int[] order = orderDirections;
+        for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+            int next = grid.neighbour(cell, d);
+            int distance = next == -1 ? Integer.MAX_VALUE : grid.manhattanDistance(next, endingCell);
+            int i = d;
+            // insertion sort, as there are only 4 directions
+            while (i > 0 && distances[i - 1] > distance) {
+                distances[i] = distances[i - 1];
+                order[i] = order[i - 1];
+                i--;
+            }
+            distances[i] = distance;
+            order[i] = d;
+        }
+        return (order[3] << 6) | (order[2] << 4) | (order[1] << 2) | order[0];
+    }
+
+    private boolean canMoveTo(int cell) {
+        return cell != -1 && !onPath[cell] && !grid.isObstacle(cell);
+    }
+}
@@ -0,0 +1,66 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+/**
+ * Heuristics estimating the number of moves between two cells. All of them never overestimate the moves
+ * of the 4-connected movement of the wanderer, so A* still finds an optimal path
+ */
+public enum Heuristic {
+
+    /**
+     * Exact number of moves in a maze without obstacles
+     */
+    MANHATTAN {
+        @Override
+        int estimate(int rows, int cols) {
+            return rows + cols;
+        }
+    },
+    /**
+     * Distance allowing diagonal moves, rounded down
+     */
+    OCTILE {
+        @Override
+        int estimate(int rows, int cols) {
+            return Math.max(rows, cols) + (int) ((Math.sqrt(2) - 1) * Math.min(rows, cols));
+        }
+    },
+    /**
+     * No estimation, which turns A* into Dijkstra's algorithm
+     */
+    ZERO {
+        @Override
+        int estimate(int rows, int cols) {
+            return 0;
+        }
+    };
+
+    /**
+     * @param rows the absolute row difference
+     * @param cols the absolute column difference
+     * @return the estimated number of moves
+     */
+    abstract int estimate(int rows, int cols);
+
+    /**
+     * @return the estimated number of moves from a cell towards another one
+     */
+    public int estimate(CellGrid grid, int cell, int goal) {
+        return estimate(Math.abs(grid.rowOf(cell) - grid.rowOf(goal)), Math.abs(grid.colOf(cell) - grid.colOf(goal)));
+    }
+
+    /**
+     * @param name the name of the heuristic, case insensitive
+     * @param defaultValue the heuristic returned if the name is not valid
+     * @return the heuristic with this name
+     */
+    public static Heuristic parse(String name, Heuristic defaultValue) {
+        for (Heuristic heuristic : values()) {
+            if (heuristic.name().equalsIgnoreCase(name.trim())) {
+                return heuristic;
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,180 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntBinaryHeap;
+import net.etravel.com.structure.IntList;
+
+import java.util.Arrays;
+
+/**
+ * Jump Point Search over the 4-connected movement of the wanderer.
+ * Instead of adding every neighbour to the open set, the search jumps along straight lines and only stops at the
+ * ending cell or at cells with a forced neighbour (an open cell beside the line whose cell behind is an obstacle).
+ * While jumping vertically, a cell is also a jump point when a horizontal jump from it finds one. Symmetric paths
+ * through open space are never added to the open set, which drops most of the open-set operations on mazes with
+ * few obstacles while still finding an optimal path
+ */
+public class JumpPointSolver implements Solver {
+
+    private long expansions = 0;
+    private CellGrid grid;
+    private int endCell;
+
+    @Override
+    public int[] solve(CellGrid grid) {
+        this.expansions = 0;
+        if (grid == null || grid.getStartingCell() < 0 || grid.getEndingCell() < 0) {
+            return new int[0];
+        }
+        this.grid = grid;
+        int startCell = grid.getStartingCell();
+        endCell = grid.getEndingCell();
+        // distance from the starting cell, -1 for cells not reached yet
+        int[] distances = new int[grid.size()];
+        Arrays.fill(distances, -1);
+        int[] parent = new int[grid.size()];
+        boolean[] closed = new boolean[grid.size()];
+        IntBinaryHeap open = new IntBinaryHeap(grid.size());
+
+        distances[startCell] = 0;
+        parent[startCell] = startCell;
+        open.push(startCell, AStarSolver.key(0, grid.manhattanDistance(startCell, endCell)));
+        int[] successors = new int[CellGrid.DIRECTIONS];
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (current == endCell) {
+                return expandPath(PathBuilder.fromParents(parent, startCell, endCell));
+            }
+            closed[current] = true;
+            expansions++;
+            int count = findSuccessors(current, parent[current], successors);
+            for (int i = 0; i < count; i++) {
+                int jumpPoint = successors[i];
+                if (closed[jumpPoint]) {
+                    continue;
+                }
+                int distance = distances[current] + grid.manhattanDistance(current, jumpPoint);
+                if (distances[jumpPoint] == -1 || distance < distances[jumpPoint]) {
+                    distances[jumpPoint] = distance;
+                    parent[jumpPoint] = current;
+                    open.push(jumpPoint, AStarSolver.key(distance, grid.manhattanDistance(jumpPoint, endCell)));
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Jumps from a cell towards the directions that are not pruned
+     * @param cell the cell being expanded
+     * @param parentCell the jump point the cell was reached from (the cell itself for the starting cell)
+     * @param successors buffer filled with the jump points found
+     * @return the number of jump points found
+     */
+    private int findSuccessors(int cell, int parentCell, int[] successors) {
+        int row = grid.rowOf(cell);
+        int col = grid.colOf(cell);
+        int count = 0;
+        if (parentCell == cell) {
+            count = addJump(successors, count, jump(row - 1, col, -1, 0));
+            count = addJump(successors, count, jump(row + 1, col, 1, 0));
+            count = addJump(successors, count, jumpHorizontally(row, col + 1, 1));
+            count = addJump(successors, count, jumpHorizontally(row, col - 1, -1));
+            return count;
+        }
+        int rowDirection = Integer.signum(row - grid.rowOf(parentCell));
+        int colDirection = Integer.signum(col - grid.colOf(parentCell));
+        if (colDirection != 0) {
+            count = addJump(successors, count, jump(row - 1, col, -1, 0));
+            count = addJump(successors, count, jump(row + 1, col, 1, 0));
+            count = addJump(successors, count, jumpHorizontally(row, col + colDirection, colDirection));
+        } else {
+            count = addJump(successors, count, jumpHorizontally(row, col - 1, -1));
+            count = addJump(successors, count, jumpHorizontally(row, col + 1, 1));
+            count = addJump(successors, count, jump(row + rowDirection, col, rowDirection, 0));
+        }
+        return count;
+    }
+
+    private static int addJump(int[] successors, int count, int jumpPoint) {
+        if (jumpPoint != -1) {
+            successors[count++] = jumpPoint;
+        }
+        return count;
+    }
+
+    /**
+     * Jumps vertically from a cell
+     * @return the jump point found, -1 if the jump is blocked
+     */
+    private int jump(int row, int col, int rowDirection, int colDirection) {
+        while (isOpen(row, col)) {
+            int cell = grid.index(row, col);
+            if (cell == endCell) {
+                return cell;
+            }
+            if ((isOpen(row, col - 1) && !isOpen(row - rowDirection, col - 1))
+                    || (isOpen(row, col + 1) && !isOpen(row - rowDirection, col + 1))) {
+                return cell;
+            }
+            if (jumpHorizontally(row, col + 1, 1) != -1 || jumpHorizontally(row, col - 1, -1) != -1) {
+                return cell;
+            }
+            row += rowDirection;
+            col += colDirection;
+        }
+        return -1;
+    }
+
+    /**
+     * Jumps horizontally from a cell
+     * @return the jump point found, -1 if the jump is blocked
+     */
+    private int jumpHorizontally(int row, int col, int colDirection) {
+        while (isOpen(row, col)) {
+            int cell = grid.index(row, col);
+            if (cell == endCell) {
+                return cell;
+            }
+            if ((isOpen(row - 1, col) && !isOpen(row - 1, col - colDirection))
+                    || (isOpen(row + 1, col) && !isOpen(row + 1, col - colDirection))) {
+                return cell;
+            }
+            col += colDirection;
+        }
+        return -1;
+    }
+
+    private boolean isOpen(int row, int col) {
+        return grid.contains(row, col) && !grid.isObstacle(grid.index(row, col));
+    }
+
+    /**
+     * Fills the straight segments between the jump points of a path
+     * @param jumpPoints the jump points from the starting to the ending cell
+     * @return every cell of the path
+     */
+    private int[] expandPath(int[] jumpPoints) {
+        IntList path = new IntList();
+        path.add(jumpPoints[0]);
+        for (int i = 1; i < jumpPoints.length; i++) {
+            int row = grid.rowOf(jumpPoints[i - 1]);
+            int col = grid.colOf(jumpPoints[i - 1]);
+            int rowDirection = Integer.signum(grid.rowOf(jumpPoints[i]) - row);
+            int colDirection = Integer.signum(grid.colOf(jumpPoints[i]) - col);
+            int cell = jumpPoints[i - 1];
+            while (cell != jumpPoints[i]) {
+                row += rowDirection;
+                col += colDirection;
+                cell = grid.index(row, col);
+                path.add(cell);
+            }
+        }
+        return path.toArray();
+    }
+
+    @Override
+    public long getExpansions() {
+        return expansions;
+    }
+}
@@ -0,0 +1,222 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntList;
+
+/**
+ * Linear-time pre-pass that runs before exploring a maze.
+ * It flood-fills from the starting cell to find whether the ending cell is reachable, and then finds the cells that
+ * can lie on a simple path from the starting to the ending cell. A cell lies on such a path only when it belongs to
+ * the biconnected component that contains the (virtual) edge between the starting and the ending cell, so the
+ * components are found with an iterative Tarjan search and every other cell is marked as dead.
+ * The search grid returned has the dead cells turned into obstacles, so the exploration never walks them
+ */
+public class MazePreprocessor {
+
+    /**
+     * Index of the virtual direction connecting the starting with the ending cell
+     */
+    private static final int VIRTUAL = CellGrid.DIRECTIONS;
+
+    private final CellGrid grid;
+    private boolean solvable = false;
+    private int reachableCells = 0;
+    private int usefulCells = 0;
+    private boolean[] useful;
+    private CellGrid searchGrid;
+
+    public MazePreprocessor(CellGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Runs the pre-pass. The results are available from the getters afterwards
+     */
+    public void run() {
+        useful = new boolean[grid.size()];
+        solvable = floodFill();
+        if (solvable) {
+            markBiconnectedComponent();
+        }
+        searchGrid = grid.copy();
+        for (int cell = 0; cell < grid.size(); cell++) {
+            if (!useful[cell] && !grid.isObstacle(cell)) {
+                searchGrid.setObstacle(cell, true);
+            }
+        }
+    }
+
+    /**
+     * Flood-fills the open cells from the starting cell
+     * @return true if the ending cell is reachable
+     */
+    private boolean floodFill() {
+        boolean[] reached = new boolean[grid.size()];
+        int[] queue = new int[grid.size()];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = grid.getStartingCell();
+        reached[grid.getStartingCell()] = true;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                int next = grid.neighbour(cell, d);
+                if (next != -1 && !reached[next] && !grid.isObstacle(next)) {
+                    reached[next] = true;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        reachableCells = tail;
+        return reached[grid.getEndingCell()];
+    }
+
+    /**
+     * Iterative Tarjan search for the biconnected components of the maze plus the virtual edge between the
+     * starting and the ending cell. Marks as useful the cells of the component containing the virtual edge
+     */
+    private void markBiconnectedComponent() {
+        int startingCell = grid.getStartingCell();
+        int endingCell = grid.getEndingCell();
+        // discovery times start from 1, 0 means not discovered yet
+        int[] discovery = new int[grid.size()];
+        int[] low = new int[grid.size()];
+        int[] stackCells = new int[reachableCells];
+        int[] stackNext = new int[reachableCells];
+        // the direction leading back to the parent, which should not be followed again
+        int[] stackSkip = new int[reachableCells];
+        IntList edgesFrom = new IntList();
+        IntList edgesTo = new IntList();
+        IntList component = new IntList();
+
+        int time = 0;
+        int top = 0;
+        stackCells[0] = startingCell;
+        stackNext[0] = 0;
+        stackSkip[0] = -1;
+        discovery[startingCell] = low[startingCell] = ++time;
+
+        while (top >= 0) {
+            int cell = stackCells[top];
+            int direction = stackNext[top];
+            if (direction <= VIRTUAL) {
+                stackNext[top]++;
+                if (direction == stackSkip[top]) {
+                    continue;
+                }
+                int next = direction == VIRTUAL ? virtualNeighbour(cell) : grid.neighbour(cell, direction);
+                if (next == -1 || grid.isObstacle(next)) {
+                    continue;
+                }
+                if (discovery[next] == 0) {
+                    edgesFrom.add(cell);
+                    edgesTo.add(next);
+                    top++;
+                    stackCells[top] = next;
+                    stackNext[top] = 0;
+                    stackSkip[top] = reverse(direction);
+                    discovery[next] = low[next] = ++time;
+                } else if (discovery[next] < discovery[cell]) {
+                    // back edge towards an ancestor
+                    edgesFrom.add(cell);
+                    edgesTo.add(next);
+                    low[cell] = Math.min(low[cell], discovery[next]);
+                }
+                continue;
+            }
+
+            // every direction is examined, so returning to the parent
+            top--;
+            if (top < 0) {
+                break;
+            }
+            int parent = stackCells[top];
+            low[parent] = Math.min(low[parent], low[cell]);
+            if (low[cell] >= discovery[parent]) {
+                // the parent separates the component containing the edge (parent, cell)
+                boolean containsVirtualEdge = false;
+                component.clear();
+                int from;
+                int to;
+                do {
+                    from = edgesFrom.removeLast();
+                    to = edgesTo.removeLast();
+                    component.add(from);
+                    component.add(to);
+                    containsVirtualEdge |= (from == startingCell && to == endingCell) || (from == endingCell && to == startingCell);
+                } while (from != parent || to != cell);
+                if (containsVirtualEdge) {
+                    for (int i = 0; i < component.size(); i++) {
+                        useful[component.get(i)] = true;
+                    }
+                }
+            }
+        }
+
+        for (boolean u : useful) {
+            if (u) {
+                usefulCells++;
+            }
+        }
+    }
+
+    private int virtualNeighbour(int cell) {
+        if (cell == grid.getStartingCell()) {
+            return grid.getEndingCell();
+        } else if (cell == grid.getEndingCell()) {
+            return grid.getStartingCell();
+        }
+        return -1;
+    }
+
+    private static int reverse(int direction) {
+        switch (direction) {
+            case CellGrid.NORTH:
+                return CellGrid.SOUTH;
+            case CellGrid.SOUTH:
+                return CellGrid.NORTH;
+            case CellGrid.EAST:
+                return CellGrid.WEST;
+            case CellGrid.WEST:
+                return CellGrid.EAST;
+            default:
+                return VIRTUAL;
+        }
+    }
+
+    /**
+     * @return true if the ending cell is reachable from the starting cell
+     */
+    public boolean isSolvable() {
+        return solvable;
+    }
+
+    /**
+     * @return the number of open cells reachable from the starting cell
+     */
+    public int getReachableCells() {
+        return reachableCells;
+    }
+
+    /**
+     * @return the number of cells that can lie on a solution
+     */
+    public int getUsefulCells() {
+        return usefulCells;
+    }
+
+    /**
+     * @param cell the cell index
+     * @return true if the cell can never lie on a solution
+     */
+    public boolean isDead(int cell) {
+        return !useful[cell];
+    }
+
+    /**
+     * @return a copy of the grid where every dead cell is an obstacle
+     */
+    public CellGrid getSearchGrid() {
+        return searchGrid;
+    }
+}
@@ -0,0 +1,232 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntList;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Breadth-first shortest path solver for mazes larger than the heap.
+ * The search state lives in a memory-mapped temporary file instead of the heap: each cell keeps only the direction
+ * it was reached from in 4 bits (0 for cells not visited yet), since the distance of a cell is the level of the
+ * search it is reached on. The state is laid out in square tiles so that neighbouring cells are close in the file,
+ * and each level of the search processes its frontier tile by tile, in file order, to keep the I/O sequential.
+ * Combined with a maze loaded from a maze file (which is memory-mapped too) only the frontier is kept on the heap.
+ * Limits: cells are int indices, so the maze has at most CellGrid.MAX_CELLS cells (e.g. 46340x46340), which needs
+ * a state file of up to 1GB. The frontier of each level stays on the heap (4 bytes per cell of the frontier), which is
+ * small for open mazes but can reach a large part of the maze for long, corridor-like ones
+ */
+public class OutOfCoreSolver implements Solver {
+
+    private static final int DEFAULT_TILE_SIZE = 256;
+    /**
+     * Maximum size of each mapped segment of the state file, since a single mapping is limited to 2GB
+     */
+    private static final int SEGMENT_BYTES = 1 << 28;
+    /**
+     * State of the starting cell, which is not reached from any direction
+     */
+    private static final int START = CellGrid.DIRECTIONS + 1;
+
+    private final int tileShift;
+    private final int tileMask;
+    private long expansions = 0;
+
+    private CellGrid grid;
+    private int tilesPerRow;
+    private int tileBytes;
+    private int tilesPerSegment;
+    private long segmentBytes;
+    private MappedByteBuffer[] segments;
+
+    public OutOfCoreSolver() {
+        this(DEFAULT_TILE_SIZE);
+    }
+
+    /**
+     * @param tileSize the number of rows and columns of each tile, a power of 2
+     */
+    public OutOfCoreSolver(int tileSize) {
+        if (tileSize < 2 || Integer.bitCount(tileSize) != 1) {
+            throw new IllegalArgumentException("Tile size should be a power of 2: " + tileSize);
+        }
+        this.tileShift = Integer.numberOfTrailingZeros(tileSize);
+        this.tileMask = tileSize - 1;
+    }
+
+    /**
+     * Finds the shortest path from the starting node to the ending node of the maze
+     * @param grid the cells of the maze
+     * @return the cells of the path from start to end (both included), empty if the end is unreachable
+     * @throws UncheckedIOException if the temporary state file cannot be created
+     */
+    @Override
+    public int[] solve(CellGrid grid) {
+        expansions = 0;
+        if (grid == null || grid.getStartingCell() < 0 || grid.getEndingCell() < 0) {
+            return new int[0];
+        }
+        this.grid = grid;
+        Path stateFile = null;
+        try {
+            stateFile = Files.createTempFile("maze-search", ".state");
+            try (FileChannel channel = FileChannel.open(stateFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE)) {
+                mapState(channel);
+                int levels = search();
+                return levels < 0 ? new int[0] : buildPath(levels);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create the search state file " + stateFile, e);
+        } finally {
+            this.segments = null;
+            this.grid = null;
+        }
+    }
+
+    /**
+     * Maps the state file, 4 bits per cell laid out tile by tile
+     */
+    private void mapState(FileChannel channel) throws IOException {
+        tilesPerRow = (grid.getCols() + tileMask) >>> tileShift;
+        int tileRows = (grid.getRows() + tileMask) >>> tileShift;
+        int tiles = tilesPerRow * tileRows;
+        tileBytes = (1 << (tileShift * 2)) >>> 1;
+        tilesPerSegment = Math.max(1, SEGMENT_BYTES / tileBytes);
+        segmentBytes = (long) tilesPerSegment * tileBytes;
+        segments = new MappedByteBuffer[(tiles + tilesPerSegment - 1) / tilesPerSegment];
+        for (int i = 0; i < segments.length; i++) {
+            int segmentTiles = Math.min(tilesPerSegment, tiles - i * tilesPerSegment);
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * tilesPerSegment * tileBytes,
+                    (long) segmentTiles * tileBytes);
+        }
+    }
+
+    /**
+     * Level-synchronous breadth-first search, with the frontier of each level bucketed by tile
+     * @return the distance of the ending cell, -1 if it is unreachable
+     */
+    private int search() {
+        int startCell = grid.getStartingCell();
+        int endCell = grid.getEndingCell();
+        int tiles = tilesPerRow * ((grid.getRows() + tileMask) >>> tileShift);
+        IntList[] frontier = new IntList[tiles];
+        IntList[] nextFrontier = new IntList[tiles];
+        IntList activeTiles = new IntList();
+        IntList nextActiveTiles = new IntList();
+
+        setState(startCell, START);
+        addToFrontier(frontier, activeTiles, startCell);
+        int level = 0;
+        while (!activeTiles.isEmpty()) {
+            if (getState(endCell) != 0) {
+                return level;
+            }
+            level++;
+            int[] tileOrder = activeTiles.toArray();
+            Arrays.sort(tileOrder);
+            for (int tile : tileOrder) {
+                IntList cells = frontier[tile];
+                for (int i = 0; i < cells.size(); i++) {
+                    int current = cells.get(i);
+                    expansions++;
+                    for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                        int next = grid.neighbour(current, d);
+                        if (next != -1 && !grid.isObstacle(next) && getState(next) == 0) {
+                            setState(next, d + 1);
+                            addToFrontier(nextFrontier, nextActiveTiles, next);
+                        }
+                    }
+                }
+                cells.clear();
+            }
+            IntList[] swapFrontier = frontier;
+            frontier = nextFrontier;
+            nextFrontier = swapFrontier;
+            IntList swapTiles = activeTiles;
+            activeTiles = nextActiveTiles;
+            nextActiveTiles = swapTiles;
+            nextActiveTiles.clear();
+        }
+        return getState(endCell) != 0 ? level : -1;
+    }
+
+    private void addToFrontier(IntList[] frontier, IntList activeTiles, int cell) {
+        int tile = tileOf(cell);
+        IntList cells = frontier[tile];
+        if (cells == null) {
+            cells = new IntList();
+            frontier[tile] = cells;
+        }
+        if (cells.isEmpty()) {
+            activeTiles.add(tile);
+        }
+        cells.add(cell);
+    }
+
+    /**
+     * Walks back from the ending cell following the direction each cell was reached from
+     * @param length the number of moves of the path
+     */
+    private int[] buildPath(int length) {
+        int[] path = new int[length + 1];
+        int cell = grid.getEndingCell();
+        for (int i = length; i > 0; i--) {
+            path[i] = cell;
+            // directions come in opposite pairs (NORTH/SOUTH, EAST/WEST)
+            cell = grid.neighbour(cell, (getState(cell) - 1) ^ 1);
+        }
+        path[0] = cell;
+        return path;
+    }
+
+    private int tileOf(int cell) {
+        int row = grid.rowOf(cell);
+        int col = cell - row * grid.getCols();
+        return (row >>> tileShift) * tilesPerRow + (col >>> tileShift);
+    }
+
+    /**
+     * @return the index of the 4 bits of the cell in the state file, tile after tile
+     */
+    private long stateIndex(int cell) {
+        int row = grid.rowOf(cell);
+        int col = cell - row * grid.getCols();
+        int tile = (row >>> tileShift) * tilesPerRow + (col >>> tileShift);
+        int offsetInTile = ((row & tileMask) << tileShift) | (col & tileMask);
+        return ((long) tile << (tileShift * 2)) | offsetInTile;
+    }
+
+    private int getState(int cell) {
+        long index = stateIndex(cell);
+        long position = index >>> 1;
+        int b = segments[(int) (position / segmentBytes)].get((int) (position % segmentBytes));
+        return (index & 1) == 0 ? b & 0x0F : (b >>> 4) & 0x0F;
+    }
+
+    private void setState(int cell, int state) {
+        long index = stateIndex(cell);
+        long position = index >>> 1;
+        MappedByteBuffer segment = segments[(int) (position / segmentBytes)];
+        int segmentPosition = (int) (position % segmentBytes);
+        int b = segment.get(segmentPosition);
+        if ((index & 1) == 0) {
+            b = (b & 0xF0) | state;
+        } else {
+            b = (b & 0x0F) | (state << 4);
+        }
+        segment.put(segmentPosition, (byte) b);
+    }
+
+    @Override
+    public long getExpansions() {
+        return expansions;
+    }
+}
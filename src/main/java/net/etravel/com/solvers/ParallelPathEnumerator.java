@@ -0,0 +1,134 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enumerates every simple path from the starting cell towards the ending cell using a ForkJoinPool.
+ * The search tree is split into independent subtasks up to a shallow depth and each subtask exhausts its own
+ * subtree with a DepthFirstSearch of the worker thread, so every task has its own path/visited state.
+ * The callback is called concurrently from the worker threads and should be thread safe
+ */
+public class ParallelPathEnumerator {
+
+    private final CellGrid grid;
+    private final int parallelism;
+    /**
+     * Paths shorter than this depth are split in subtasks, longer ones are explored sequentially
+     */
+    private final int splitDepth;
+    /**
+     * Search engine of each worker thread, reused between the subtasks it runs
+     */
+    private final ThreadLocal<DepthFirstSearch> searches;
+    /**
+     * Number of cells of the best solution found so far by any task, null when every path is explored
+     */
+    private AtomicInteger bound = null;
+
+    /**
+     * @param grid the cells of the maze
+     * @param parallelism the number of worker threads
+     */
+    public ParallelPathEnumerator(CellGrid grid, int parallelism) {
+        this.grid = grid;
+        this.parallelism = Math.max(parallelism, 1);
+        // aim for a few subtasks per worker, assuming at least 2 choices per step
+        this.splitDepth = 2 + (32 - Integer.numberOfLeadingZeros(this.parallelism * 8));
+        this.searches = ThreadLocal.withInitial(() -> new DepthFirstSearch(grid));
+    }
+
+    /**
+     * Enables branch-and-bound on every task, sharing the best solution found between them
+     * @param bound the number of cells of the best solution found so far, null explores every path
+     * @see DepthFirstSearch#setBound(AtomicInteger)
+     */
+    public void setBound(AtomicInteger bound) {
+        this.bound = bound;
+    }
+
+    /**
+     * Exhausts every simple path from a cell towards the ending cell, waiting until every subtask is finished
+     * @param startingCell the cell the search starts from
+     * @param callback receives the moves and the solutions found, from several threads
+     */
+    public void explore(int startingCell, DepthFirstSearch.SearchCallback callback) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ExploreTask(new int[]{startingCell}, callback));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Subtask that explores the paths which begin with a prefix
+     */
+    private class ExploreTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] prefix;
+        private final DepthFirstSearch.SearchCallback callback;
+
+        ExploreTask(int[] prefix, DepthFirstSearch.SearchCallback callback) {
+            this.prefix = prefix;
+            this.callback = callback;
+        }
+
+        @Override
+        protected void compute() {
+            if (prefix.length >= splitDepth) {
+                DepthFirstSearch search = searches.get();
+                search.setBound(bound);
+                search.explore(prefix, prefix.length, callback);
+                return;
+            }
+            int cell = prefix[prefix.length - 1];
+            int endingCell = grid.getEndingCell();
+            List<ExploreTask> subtasks = new ArrayList<ExploreTask>(CellGrid.DIRECTIONS);
+            int choices = 0;
+            for (int d = 0; d < CellGrid.DIRECTIONS; d++) {
+                int next = grid.neighbour(cell, d);
+                if (next == -1 || grid.isObstacle(next) || isOnPrefix(next)) {
+                    continue;
+                }
+                choices++;
+                if (bound != null && prefix.length + 1 + grid.manhattanDistance(next, endingCell) >= bound.get()) {
+                    continue;
+                }
+                int[] path = Arrays.copyOf(prefix, prefix.length + 1);
+                path[prefix.length] = next;
+                callback.onMove(cell, next);
+                if (next == endingCell) {
+                    if (bound != null) {
+                        bound.accumulateAndGet(path.length, Math::min);
+                    }
+                    callback.onSolution(path, path.length);
+                } else {
+                    subtasks.add(new ExploreTask(path, callback));
+                }
+            }
+            if (choices == 0) {
+                callback.onDeadEnd(cell);
+            }
+            invokeAll(subtasks);
+            callback.onBacktrack(cell, prefix.length);
+        }
+
+        private boolean isOnPrefix(int cell) {
+            for (int c : prefix) {
+                if (c == cell) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package net.etravel.com.solvers;
+
+/**
+ * Helper building the paths found by the solvers
+ */
+final class PathBuilder {
+
+    private PathBuilder() {
+    }
+
+    /**
+     * Builds a path by following the parents from the ending cell back to the starting cell
+     * @param parent the cell each cell was reached from
+     * @return the cells of the path from start to end (both included)
+     */
+    static int[] fromParents(int[] parent, int startCell, int endCell) {
+        int length = 1;
+        for (int i = endCell; i != startCell; i = parent[i]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int i = endCell; length > 0; i = parent[i]) {
+            path[--length] = i;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,219 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams solutions to a file as they are found, through a fixed size buffer, so exporting uses constant memory
+ * whatever the number of solutions. Solutions are encoded straight into the buffer without building strings.
+ * Can be used as the sink of concurrent solver threads
+ */
+public class SolutionExporter implements SolutionSink, Closeable {
+
+    public enum Format {
+        /**
+         * One line per solution, as displayed: Number 1 solution: ((S) 0,0), ((T) 0,1), ((E) 1,1)
+         */
+        TEXT,
+        /**
+         * One line per cell of each solution: solution,step,row,col
+         */
+        CSV,
+        /**
+         * Big-endian ints: rows and columns of the maze, then for each solution its number of cells followed by
+         * the cell indices (row * columns + col)
+         */
+        BINARY;
+
+        /**
+         * @param name the name of the format, case insensitive
+         * @param defaultFormat the format returned when the name is not a format
+         * @return the format with that name
+         */
+        public static Format parse(String name, Format defaultFormat) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(name.trim())) {
+                    return format;
+                }
+            }
+            return defaultFormat;
+        }
+    }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    /**
+     * Maximum number of bytes of the text of a single cell, e.g. "((S) 2147483647,2147483647), "
+     */
+    private static final int MAX_CELL_BYTES = 32;
+
+    private final CellGrid grid;
+    private final Format format;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final long startTime;
+    private long solutionsWritten = 0;
+    private long bytesWritten = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * Creates the export file, replacing it if it exists
+     * @param grid the cells of the maze the solutions belong to
+     * @param path the export file
+     * @param format the format of the solutions
+     * @throws IOException if the file cannot be created
+     */
+    public SolutionExporter(CellGrid grid, Path path, Format format) throws IOException {
+        this.grid = grid;
+        this.format = format;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.startTime = System.nanoTime();
+        if (format == Format.CSV) {
+            putAscii("solution,step,row,col\n");
+        } else if (format == Format.BINARY) {
+            buffer.putInt(grid.getRows()).putInt(grid.getCols());
+        }
+    }
+
+    /**
+     * Writes a solution to the export file
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    @Override
+    public synchronized void accept(int[] path, int length) {
+        try {
+            solutionsWritten++;
+            switch (format) {
+                case CSV:
+                    writeCsv(path, length);
+                    break;
+                case BINARY:
+                    writeBinary(path, length);
+                    break;
+                default:
+                    writeText(path, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export solution " + solutionsWritten, e);
+        }
+    }
+
+    private void writeText(int[] path, int length) throws IOException {
+        ensureRemaining(MAX_CELL_BYTES * 2);
+        putAscii("Number ");
+        putNumber(solutionsWritten);
+        putAscii(" solution: ");
+        for (int i = 0; i < length; i++) {
+            ensureRemaining(MAX_CELL_BYTES);
+            int cell = path[i];
+            byte type = grid.getCellType(cell);
+            putAscii(type == CellGrid.STARTING_POINT ? "((S) " : type == CellGrid.ENDING_POINT ? "((E) " : "((T) ");
+            putNumber(grid.rowOf(cell));
+            buffer.put((byte) ',');
+            putNumber(grid.colOf(cell));
+            putAscii(i < length - 1 ? "), " : ")\n");
+        }
+    }
+
+    private void writeCsv(int[] path, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            ensureRemaining(MAX_CELL_BYTES * 2);
+            putNumber(solutionsWritten);
+            buffer.put((byte) ',');
+            putNumber(i);
+            buffer.put((byte) ',');
+            putNumber(grid.rowOf(path[i]));
+            buffer.put((byte) ',');
+            putNumber(grid.colOf(path[i]));
+            buffer.put((byte) '\n');
+        }
+    }
+
+    private void writeBinary(int[] path, int length) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(length);
+        for (int i = 0; i < length; i++) {
+            ensureRemaining(Integer.BYTES);
+            buffer.putInt(path[i]);
+        }
+    }
+
+    private void putAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            buffer.put((byte) text.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number without creating a string
+     */
+    private void putNumber(long number) {
+        long divisor = 1;
+        while (number / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (number / divisor) % 10));
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bytesWritten += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the buffered solutions and closes the export file
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            flush();
+        } finally {
+            channel.close();
+            elapsedNanos = System.nanoTime() - startTime;
+        }
+    }
+
+    /**
+     * @return the number of solutions exported
+     */
+    public synchronized long getSolutionsWritten() {
+        return solutionsWritten;
+    }
+
+    /**
+     * @return the number of bytes written to the export file
+     */
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return the bytes written per second from the creation of the exporter until it was closed (or until now)
+     */
+    public synchronized double getBytesPerSecond() {
+        long nanos = channel.isOpen() ? System.nanoTime() - startTime : elapsedNanos;
+        return nanos > 0 ? bytesWritten * 1e9 / nanos : 0;
+    }
+}
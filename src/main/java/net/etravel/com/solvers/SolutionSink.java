@@ -0,0 +1,17 @@
+package net.etravel.com.solvers;
+
+/**
+ * Receives every solution found while enumerating the paths of the maze, so that solutions can be streamed,
+ * filtered or aggregated without keeping all of them in memory.
+ * When the solutions are enumerated by several threads the sink is called concurrently and should be thread safe
+ */
+public interface SolutionSink {
+
+    /**
+     * Called once per solution found
+     * @param path buffer with the cells of the solution from the starting to the ending cell. It is reused by the
+     *             search, so it should be copied if it is needed after returning
+     * @param length the number of cells of the solution
+     */
+    void accept(int[] path, int length);
+}
@@ -0,0 +1,179 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.IntList;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compact registry of the solutions found.
+ * Solutions are kept in a path trie rooted at the starting cell, so sibling solutions share their common prefix.
+ * Each trie node only keeps the direction (2 bits, stored in a byte) of the move from its parent, and the cells
+ * of a solution are rebuilt from the starting cell when it is asked for.
+ * The store can also only count the solutions, without keeping any path
+ */
+public class SolutionStore implements SolutionSink {
+
+    private static final int NONE = -1;
+
+    private final CellGrid grid;
+    private final boolean keepPaths;
+    private final AtomicLong numberOfSolutions = new AtomicLong();
+
+    /**
+     * Trie nodes in parallel arrays. Node 0 is the starting cell
+     */
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private byte[] directions;
+    private int nodes = 0;
+
+    /**
+     * The trie node of the ending cell and the number of cells of each solution, by solution index
+     */
+    private final IntList leaves = new IntList();
+    private final IntList lengths = new IntList();
+
+    /**
+     * @param grid the cells of the maze the solutions belong to
+     * @param keepPaths true to keep every solution, false to only count them
+     */
+    public SolutionStore(CellGrid grid, boolean keepPaths) {
+        this.grid = grid;
+        this.keepPaths = keepPaths;
+        int capacity = keepPaths ? 64 : 1;
+        parents = new int[capacity];
+        firstChildren = new int[capacity];
+        nextSiblings = new int[capacity];
+        directions = new byte[capacity];
+        addNode(NONE, (byte) 0);
+    }
+
+    @Override
+    public void accept(int[] path, int length) {
+        numberOfSolutions.incrementAndGet();
+        if (keepPaths) {
+            add(path, length);
+        }
+    }
+
+    private synchronized void add(int[] path, int length) {
+        int node = 0;
+        for (int i = 1; i < length; i++) {
+            byte direction = directionOf(path[i - 1], path[i]);
+            int child = firstChildren[node];
+            while (child != NONE && directions[child] != direction) {
+                child = nextSiblings[child];
+            }
+            if (child == NONE) {
+                child = addNode(node, direction);
+            }
+            node = child;
+        }
+        leaves.add(node);
+        lengths.add(length);
+    }
+
+    private int addNode(int parent, byte direction) {
+        if (nodes == parents.length) {
+            int capacity = nodes << 1;
+            parents = Arrays.copyOf(parents, capacity);
+            firstChildren = Arrays.copyOf(firstChildren, capacity);
+            nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+            directions = Arrays.copyOf(directions, capacity);
+        }
+        int node = nodes++;
+        parents[node] = parent;
+        directions[node] = direction;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        if (parent != NONE) {
+            nextSiblings[node] = firstChildren[parent];
+            firstChildren[parent] = node;
+        }
+        return node;
+    }
+
+    private byte directionOf(int fromCell, int toCell) {
+        for (byte d = 0; d < CellGrid.DIRECTIONS; d++) {
+            if (grid.neighbour(fromCell, d) == toCell) {
+                return d;
+            }
+        }
+        throw new IllegalArgumentException("Cells " + fromCell + " and " + toCell + " are not neighbours");
+    }
+
+    /**
+     * @return the number of solutions found, whether they are kept or only counted
+     */
+    public long getNumberOfSolutions() {
+        return numberOfSolutions.get();
+    }
+
+    /**
+     * @return true if the paths of the solutions are kept, false if they are only counted
+     */
+    public boolean isKeepingPaths() {
+        return keepPaths;
+    }
+
+    /**
+     * @return the number of solutions kept in the store
+     */
+    public synchronized int size() {
+        return leaves.size();
+    }
+
+    /**
+     * @param index the index of the solution, in the order they were found
+     * @return the number of cells of the solution
+     */
+    public synchronized int length(int index) {
+        return lengths.get(index);
+    }
+
+    /**
+     * @param index the index of the solution, in the order they were found
+     * @return the cells of the solution from the starting to the ending cell
+     */
+    public synchronized int[] get(int index) {
+        int[] path = new int[lengths.get(index)];
+        fill(index, path);
+        return path;
+    }
+
+    /**
+     * Passes every kept solution to a sink, in the order they were found, reusing a single buffer
+     * @param sink receives the solutions
+     */
+    public synchronized void forEach(SolutionSink sink) {
+        int[] buffer = new int[0];
+        for (int i = 0; i < leaves.size(); i++) {
+            int length = lengths.get(i);
+            if (buffer.length < length) {
+                buffer = new int[length];
+            }
+            fill(i, buffer);
+            sink.accept(buffer, length);
+        }
+    }
+
+    /**
+     * Rebuilds the cells of a solution: the directions are collected from the leaf towards the root
+     * and then applied from the starting cell
+     */
+    private void fill(int index, int[] path) {
+        int length = lengths.get(index);
+        int node = leaves.get(index);
+        for (int i = length - 1; i > 0; i--) {
+            path[i] = directions[node];
+            node = parents[node];
+        }
+        path[0] = grid.getStartingCell();
+        for (int i = 1; i < length; i++) {
+            path[i] = grid.neighbour(path[i - 1], path[i]);
+        }
+    }
+}
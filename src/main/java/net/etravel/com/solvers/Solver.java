@@ -0,0 +1,21 @@
+package net.etravel.com.solvers;
+
+import net.etravel.com.structure.CellGrid;
+
+/**
+ * Strategy finding an optimal path from the starting to the ending cell of a maze, without enumerating every path
+ */
+public interface Solver {
+
+    /**
+     * Finds a shortest path from the starting cell to the ending cell
+     * @param grid the cells of the maze
+     * @return the cells of the path from start to end (both included), empty if the end is unreachable
+     */
+    int[] solve(CellGrid grid);
+
+    /**
+     * @return the number of cells expanded by the last call of solve
+     */
+    long getExpansions();
+}
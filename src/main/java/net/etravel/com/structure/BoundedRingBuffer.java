@@ -0,0 +1,94 @@
+package net.etravel.com.structure;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer, written by any number of threads and read by a single one.
+ * Unlike IntRingBuffer nothing is ever overwritten: offering to a full buffer fails and the caller decides what to do.
+ * Each slot has a sequence number telling whether it is free for the writer of a position or filled for the reader
+ * @param <T> the type of the values
+ */
+public class BoundedRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> values;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+    /**
+     * Index of the next value to read, only written by the reader
+     */
+    private volatile long readIndex = 0;
+
+    /**
+     * @param capacity the maximum number of values in the buffer, rounded up to a power of 2
+     */
+    public BoundedRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        values = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a value if the buffer is not full. Can be called concurrently
+     * @param value the value to add, not null
+     * @return false if the buffer is full
+     */
+    public boolean offer(T value) {
+        while (true) {
+            long index = writeIndex.get();
+            int slot = (int) (index & mask);
+            long sequence = sequences.get(slot);
+            if (sequence == index) {
+                if (writeIndex.compareAndSet(index, index + 1)) {
+                    values.lazySet(slot, value);
+                    // publishes the value to the reader
+                    sequences.set(slot, index + 1);
+                    return true;
+                }
+            } else if (sequence < index) {
+                // the slot still holds the value written a lap earlier
+                return false;
+            }
+            // another writer took this position, try the next one
+        }
+    }
+
+    /**
+     * Removes the oldest value. Must only be called by the reader
+     * @return the oldest value, null if the buffer is empty
+     */
+    public T poll() {
+        long index = readIndex;
+        int slot = (int) (index & mask);
+        if (sequences.get(slot) != index + 1) {
+            return null;
+        }
+        T value = values.get(slot);
+        values.lazySet(slot, null);
+        // frees the slot for the writer of the next lap
+        sequences.set(slot, index + values.length());
+        readIndex = index + 1;
+        return value;
+    }
+
+    /**
+     * @return the approximate number of values in the buffer
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(values.length(), writeIndex.get() - readIndex));
+    }
+
+    public int capacity() {
+        return values.length();
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+}
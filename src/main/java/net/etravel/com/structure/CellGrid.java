@@ -0,0 +1,236 @@
+package net.etravel.com.structure;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Packed representation of the maze cells.
+ * Obstacles are kept in a bitmap (1 bit per cell) and the starting/ending points as cell indices.
+ * Each cell is addressed by an int index (row * cols + col) so that no objects are needed per cell.
+ * So a grid has at most MAX_CELLS cells, e.g. 46340x46340, and its bitmap is at most 256MB
+ */
+public class CellGrid {
+
+    /**
+     * Cell types
+     */
+    public static final byte TILE = 0;
+    public static final byte OBSTACLE = 1;
+    public static final byte STARTING_POINT = 2;
+    public static final byte ENDING_POINT = 3;
+
+    /**
+     * Directions that the wanderer can move towards, in the order they are examined
+     */
+    public static final int NORTH = 0;
+    public static final int SOUTH = 1;
+    public static final int EAST = 2;
+    public static final int WEST = 3;
+    public static final int DIRECTIONS = 4;
+
+    /**
+     * Maximum number of cells of a grid. Below Integer.MAX_VALUE so that the int arrays of one entry per cell
+     * (plus one) the solvers allocate stay within the largest array size the JVM accepts
+     */
+    public static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+    private final int rows;
+    private final int cols;
+    /**
+     * Bit-packed obstacles, bit (cell % 8) of byte (cell / 8) is set when the cell is an obstacle
+     */
+    private final ByteBuffer obstacles;
+    private int startingCell = -1;
+    private int endingCell = -1;
+
+    /**
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @throws IllegalArgumentException if the grid would have more than MAX_CELLS cells
+     */
+    public CellGrid(int rows, int cols) {
+        checkDimensions(rows, cols);
+        this.rows = rows;
+        this.cols = cols;
+        this.obstacles = ByteBuffer.allocate(bitmapSize(rows, cols));
+    }
+
+    /**
+     * Creates a grid on top of an existing obstacle bitmap, without copying it.
+     * The grid is read-only when the bitmap is (e.g. a memory-mapped file), use copy() to change it
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @param obstacles the bit-packed obstacles, starting at its position
+     * @throws IllegalArgumentException if the grid would have more than MAX_CELLS cells or the bitmap is too small
+     */
+    public CellGrid(int rows, int cols, ByteBuffer obstacles) {
+        checkDimensions(rows, cols);
+        if (obstacles.remaining() < bitmapSize(rows, cols)) {
+            throw new IllegalArgumentException("Obstacle bitmap is too small for a " + rows + "x" + cols + " grid");
+        }
+        this.rows = rows;
+        this.cols = cols;
+        ByteBuffer bitmap = obstacles.slice();
+        bitmap.limit(bitmapSize(rows, cols));
+        this.obstacles = bitmap;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the dimensions are negative or the cells cannot be addressed by an int
+     */
+    private static void checkDimensions(int rows, int cols) {
+        if (rows < 0 || cols < 0 || (long) rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Cannot create a " + rows + "x" + cols + " grid, a grid has at most "
+                    + MAX_CELLS + " cells (e.g. 46340x46340)");
+        }
+    }
+
+    /**
+     * @return the number of bytes of the obstacle bitmap of a grid
+     */
+    public static int bitmapSize(int rows, int cols) {
+        return (int) (((long) rows * cols + 7) >>> 3);
+    }
+
+    /**
+     * @return a read-only view of the bit-packed obstacles
+     */
+    public ByteBuffer getObstacleBitmap() {
+        return obstacles.asReadOnlyBuffer();
+    }
+
+    /**
+     * @return the number of obstacles of the grid
+     */
+    public int countObstacles() {
+        int count = 0;
+        for (int i = 0; i < obstacles.limit(); i++) {
+            count += Integer.bitCount(obstacles.get(i) & 0xFF);
+        }
+        return count;
+    }
+
+    /**
+     * @return a copy of the grid, that can be changed without affecting this one
+     */
+    public CellGrid copy() {
+        CellGrid copy = new CellGrid(rows, cols);
+        copy.obstacles.put(obstacles.duplicate());
+        copy.obstacles.clear();
+        copy.startingCell = startingCell;
+        copy.endingCell = endingCell;
+        return copy;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * @return the number of cells of the grid
+     */
+    public int size() {
+        return rows * cols;
+    }
+
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    public int rowOf(int cell) {
+        return cell / cols;
+    }
+
+    public int colOf(int cell) {
+        return cell % cols;
+    }
+
+    public boolean contains(int row, int col) {
+        return row >= 0 && col >= 0 && row < rows && col < cols;
+    }
+
+    public boolean isObstacle(int cell) {
+        return (obstacles.get(cell >>> 3) & (1 << (cell & 7))) != 0;
+    }
+
+    public void setObstacle(int cell, boolean obstacle) {
+        int b = obstacles.get(cell >>> 3);
+        if (obstacle) {
+            b |= 1 << (cell & 7);
+        } else {
+            b &= ~(1 << (cell & 7));
+        }
+        obstacles.put(cell >>> 3, (byte) b);
+    }
+
+    public int getStartingCell() {
+        return startingCell;
+    }
+
+    public void setStartingCell(int startingCell) {
+        this.startingCell = startingCell;
+    }
+
+    public int getEndingCell() {
+        return endingCell;
+    }
+
+    public void setEndingCell(int endingCell) {
+        this.endingCell = endingCell;
+    }
+
+    /**
+     * @param cell the cell index
+     * @return one of TILE, OBSTACLE, STARTING_POINT, ENDING_POINT
+     */
+    public byte getCellType(int cell) {
+        if (isObstacle(cell)) {
+            return OBSTACLE;
+        } else if (cell == startingCell) {
+            return STARTING_POINT;
+        } else if (cell == endingCell) {
+            return ENDING_POINT;
+        }
+        return TILE;
+    }
+
+    /**
+     * @param cell the cell index
+     * @return true if the cell is an obstacle, the starting or the ending point
+     */
+    public boolean isOccupied(int cell) {
+        return cell == startingCell || cell == endingCell || isObstacle(cell);
+    }
+
+    /**
+     * @return the Manhattan distance between two cells, which is the minimum number of moves between them
+     */
+    public int manhattanDistance(int cell, int otherCell) {
+        return Math.abs(rowOf(cell) - rowOf(otherCell)) + Math.abs(colOf(cell) - colOf(otherCell));
+    }
+
+    /**
+     * Gets the neighbour cell towards a direction
+     * @param cell the cell index
+     * @param direction one of NORTH, SOUTH, EAST, WEST
+     * @return the index of the neighbour cell, -1 if it is outside the grid
+     */
+    public int neighbour(int cell, int direction) {
+        switch (direction) {
+            case NORTH:
+                return cell >= cols ? cell - cols : -1;
+            case SOUTH:
+                // compared before adding, so cell + cols cannot overflow on the largest grids
+                return cell < size() - cols ? cell + cols : -1;
+            case EAST:
+                return (cell % cols) < cols - 1 ? cell + 1 : -1;
+            case WEST:
+                return (cell % cols) > 0 ? cell - 1 : -1;
+            default:
+                return -1;
+        }
+    }
+}
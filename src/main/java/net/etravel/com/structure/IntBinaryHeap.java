@@ -0,0 +1,129 @@
+package net.etravel.com.structure;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of cell indices over parallel primitive arrays.
+ * Each cell is at most once in the heap, and its position is kept in order to decrease its key in place
+ */
+public class IntBinaryHeap {
+
+    private final int[] cells;
+    private final long[] keys;
+    /**
+     * Position of each cell in the heap, -1 if the cell is not in it
+     */
+    private final int[] positions;
+    private int size = 0;
+
+    /**
+     * @param capacity the number of cells, cells should be in the range [0, capacity)
+     */
+    public IntBinaryHeap(int capacity) {
+        cells = new int[capacity];
+        keys = new long[capacity];
+        positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int cell) {
+        return positions[cell] != -1;
+    }
+
+    /**
+     * Adds a cell, or updates its key if it is already in the heap and the new key is smaller
+     */
+    public void push(int cell, long key) {
+        int position = positions[cell];
+        if (position == -1) {
+            position = size++;
+            cells[position] = cell;
+            positions[cell] = position;
+        } else if (key >= keys[position]) {
+            return;
+        }
+        keys[position] = key;
+        siftUp(position);
+    }
+
+    /**
+     * @return the cell with the smallest key without removing it
+     */
+    public int peek() {
+        return cells[0];
+    }
+
+    /**
+     * @return the smallest key
+     */
+    public long peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Removes the cell with the smallest key
+     * @return the removed cell
+     */
+    public int pop() {
+        int cell = cells[0];
+        positions[cell] = -1;
+        size--;
+        if (size > 0) {
+            cells[0] = cells[size];
+            keys[0] = keys[size];
+            positions[cells[0]] = 0;
+            siftDown(0);
+        }
+        return cell;
+    }
+
+    private void siftUp(int position) {
+        int cell = cells[position];
+        long key = keys[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, position);
+            position = parent;
+        }
+        cells[position] = cell;
+        keys[position] = key;
+        positions[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = cells[position];
+        long key = keys[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = (position << 1) + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            move(child, position);
+            position = child;
+        }
+        cells[position] = cell;
+        keys[position] = key;
+        positions[cell] = position;
+    }
+
+    private void move(int from, int to) {
+        cells[to] = cells[from];
+        keys[to] = keys[from];
+        positions[cells[to]] = to;
+    }
+}
@@ -0,0 +1,77 @@
+package net.etravel.com.structure;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive ints, used for paths of cell indices in order to avoid boxing
+ */
+public class IntList {
+
+    private int[] values;
+    private int size = 0;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int initialCapacity) {
+        values = new int[Math.max(initialCapacity, 1)];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size << 1);
+        }
+        values[size++] = value;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+
+    /**
+     * Removes the last value of the list
+     * @return the removed value
+     */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("List is empty");
+        }
+        return values[--size];
+    }
+
+    public int getLast() {
+        return get(size - 1);
+    }
+
+    public boolean contains(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a copy of the values of the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
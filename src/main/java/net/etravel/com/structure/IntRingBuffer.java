@@ -0,0 +1,68 @@
+package net.etravel.com.structure;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free ring buffer of primitive ints, written by any number of threads and drained by a single one.
+ * Writers never wait: when the reader falls behind, the oldest values are overwritten and skipped by the next drain.
+ * A value being added while the buffer is drained may be read before it is written, so it is only suited to data where
+ * a stale value is harmless (e.g. cells to repaint)
+ */
+public class IntRingBuffer {
+
+    private final AtomicIntegerArray values;
+    private final int mask;
+    private final AtomicLong writeIndex = new AtomicLong();
+    /**
+     * Index of the next value to drain, only used by the reader
+     */
+    private long readIndex = 0;
+
+    /**
+     * @param capacity the maximum number of values kept between two drains, rounded up to a power of 2
+     */
+    public IntRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        values = new AtomicIntegerArray(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Adds a value. Can be called concurrently
+     */
+    public void add(int value) {
+        long index = writeIndex.getAndIncrement();
+        values.lazySet((int) (index & mask), value);
+    }
+
+    /**
+     * Moves the values added since the last drain to a list, oldest first. Must only be called by the reader
+     * @param target the list receiving the values
+     * @return the number of values that were overwritten before they could be drained
+     */
+    public long drainTo(IntList target) {
+        long end = writeIndex.get();
+        long start = Math.max(readIndex, end - values.length());
+        for (long i = start; i < end; i++) {
+            target.add(values.get((int) (i & mask)));
+        }
+        long dropped = start - readIndex;
+        readIndex = end;
+        return dropped;
+    }
+
+    /**
+     * Skips every value added so far. Must only be called by the reader
+     */
+    public void clear() {
+        readIndex = writeIndex.get();
+    }
+
+    /**
+     * @return true if values were added since the last drain
+     */
+    public boolean isEmpty() {
+        return writeIndex.get() == readIndex;
+    }
+}
@@ -0,0 +1,122 @@
+package net.etravel.com.structure;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file of a maze. All the numbers are big-endian:
+ * <pre>
+ *  offset  size  field
+ *       0     4  magic number "MAZE"
+ *       4     4  format version
+ *       8     4  rows
+ *      12     4  columns
+ *      16     4  starting cell (row * columns + col)
+ *      20     4  ending cell
+ *      24     8  seed of the generator
+ *      32     -  obstacle bitmap, (rows * columns + 7) / 8 bytes, bit (cell % 8) of byte (cell / 8) set for obstacles
+ * </pre>
+ * A maze has at most CellGrid.MAX_CELLS cells, so a maze file is at most 256MB and is mapped at once
+ */
+public class MazeFile {
+
+    private static final int MAGIC = 0x4D415A45;
+    private static final int VERSION = 1;
+    public static final int HEADER_SIZE = 32;
+
+    private final CellGrid grid;
+    private final long seed;
+
+    private MazeFile(CellGrid grid, long seed) {
+        this.grid = grid;
+        this.seed = seed;
+    }
+
+    /**
+     * @return the cells of the maze
+     */
+    public CellGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * @return the seed the maze was generated with
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Writes a maze to a file, replacing it if it exists
+     * @param path the file
+     * @param grid the cells of the maze
+     * @param seed the seed the maze was generated with
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, CellGrid grid, long seed) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(grid.getRows())
+                .putInt(grid.getCols())
+                .putInt(grid.getStartingCell())
+                .putInt(grid.getEndingCell())
+                .putLong(seed);
+        header.flip();
+        ByteBuffer[] buffers = {header, grid.getObstacleBitmap()};
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffers[1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        }
+    }
+
+    /**
+     * Reads a maze from a file. The file is memory-mapped, so the obstacles are not copied onto the heap
+     * and the cells of the maze are read-only
+     * @param path the file
+     * @return the maze of the file
+     * @throws IOException if the file cannot be read or is not a valid maze file
+     */
+    public static MazeFile read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a maze file: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a maze file: " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported maze file version " + buffer.getInt(4) + ": " + path);
+            }
+            int rows = buffer.getInt(8);
+            int cols = buffer.getInt(12);
+            int startingCell = buffer.getInt(16);
+            int endingCell = buffer.getInt(20);
+            long seed = buffer.getLong(24);
+            long size = (long) rows * cols;
+            if (rows <= 0 || cols <= 0 || size > CellGrid.MAX_CELLS || fileSize != HEADER_SIZE + ((size + 7) >>> 3)) {
+                throw new IOException("Invalid maze dimensions " + rows + "x" + cols + ": " + path);
+            }
+            buffer.position(HEADER_SIZE);
+            CellGrid grid = new CellGrid(rows, cols, buffer);
+            if (!isFreeCell(grid, startingCell) || !isFreeCell(grid, endingCell) || startingCell == endingCell) {
+                throw new IOException("Invalid starting or ending point: " + path);
+            }
+            grid.setStartingCell(startingCell);
+            grid.setEndingCell(endingCell);
+            return new MazeFile(grid, seed);
+        }
+    }
+
+    private static boolean isFreeCell(CellGrid grid, int cell) {
+        return cell >= 0 && cell < grid.size() && !grid.isObstacle(cell);
+    }
+}
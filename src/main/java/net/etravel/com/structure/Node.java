@@ -25,6 +25,26 @@ public abstract  class Node {
         return point;
     }
 
+    /**
+     * Nodes are views of the maze cells, so two nodes are equal when they are on the same location
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Node)) {
+            return false;
+        }
+        Node other = (Node) o;
+        return point.getRow() == other.point.getRow() && point.getCol() == other.point.getCol();
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * point.getRow() + point.getCol();
+    }
+
     @Override
     public String toString() {
         return point.getKeyLocation() + " ";
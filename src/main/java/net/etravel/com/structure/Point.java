@@ -6,7 +6,7 @@ package net.etravel.com.structure;
 public class Point {
 
     /**
-     * Contains the String value of key per node in the form of row|col
+     * Contains the String value of key per node in the form of row|col. Created lazily
      */
     private String keyLocation;
     /**
@@ -21,10 +21,12 @@ public class Point {
     public Point(int row, int col) {
         this.row = row;
         this.col = col;
-        this.keyLocation = row + "|" + col;
     }
 
     public String getKeyLocation() {
+        if (keyLocation == null) {
+            keyLocation = row + "|" + col;
+        }
         return keyLocation;
     }
 
@@ -1,12 +1,23 @@
 import net.etravel.com.controllers.DisplayController;
 import net.etravel.com.controllers.Maze;
+import net.etravel.com.controllers.MazeListener;
 import net.etravel.com.controllers.Wanderer;
+import net.etravel.com.logger.AsyncLogHandler;
 import net.etravel.com.logger.LoggingController;
 import net.etravel.com.properties.PropertyReader;
+import net.etravel.com.structure.CellGrid;
+import net.etravel.com.structure.MazeFile;
 import org.eclipse.core.runtime.Assert;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
 import java.util.logging.Level;
+import java.util.logging.LogRecord;
 import java.util.logging.Logger;
 
 public class TestMain {
@@ -27,14 +38,213 @@ public class TestMain {
         String levelStr = PropertyReader.getInstance().getProperty("log_level", "INFO");
         Level level = Level.parse(levelStr);
         Assert.isNotNull(level);
+        String overflow = PropertyReader.getInstance().getProperty("log_overflow", "block").trim();
+        Assert.isLegal(AsyncLogHandler.OverflowPolicy.parse(overflow, null) != null, "Log overflow should be block, drop or sample");
+        Assert.isLegal(PropertyReader.getInstance().getInteger("log_buffer_size", 8192) > 0, "Log buffer size should be positive");
         Boolean optimal_path = PropertyReader.getInstance().getBoolean("show_optimal_path", true);
         Assert.isNotNull(optimal_path);
+        String solverMode = PropertyReader.getInstance().getProperty("solver_mode", Wanderer.SOLVER_MODE_ALL).trim();
+        Assert.isLegal(Wanderer.SOLVER_MODE_ALL.equalsIgnoreCase(solverMode) || Wanderer.SOLVER_MODE_SHORTEST.equalsIgnoreCase(solverMode)
+                || Wanderer.SOLVER_MODE_OPTIMAL.equalsIgnoreCase(solverMode) || Wanderer.SOLVER_MODE_ASTAR.equalsIgnoreCase(solverMode)
+                || Wanderer.SOLVER_MODE_BIDIRECTIONAL.equalsIgnoreCase(solverMode) || Wanderer.SOLVER_MODE_JPS.equalsIgnoreCase(solverMode)
+                || Wanderer.SOLVER_MODE_OUT_OF_CORE.equalsIgnoreCase(solverMode),
+                "Solver mode should be all, shortest, optimal, astar, bidirectional, jps or outofcore");
+
+
+        String seed = PropertyReader.getInstance().getProperty("maze_seed", "").trim();
+        Assert.isLegal(seed.isEmpty() || seed.matches("-?\\d+"), "Maze seed should be empty or a number");
 
 
         Maze.getMaze().initMaze();
         Wanderer.getWanderer().reset();
     }
 
+    @Test
+    void checkMazeGenerator() {
+        logger.info("Checking maze generator. . .");
+        for (double ratio : new double[]{0.0, 0.25, 0.99, 1.0}) {
+            int obstacles = (int) Math.round(20 * 30 * ratio);
+            CellGrid grid = Maze.generate(20, 30, obstacles, new Random(7));
+            CellGrid sameGrid = Maze.generate(20, 30, obstacles, new Random(7));
+            int obstacleCount = 0;
+            for (int cell = 0; cell < grid.size(); cell++) {
+                Assert.isLegal(grid.getCellType(cell) == sameGrid.getCellType(cell), "The same seed should give the same maze");
+                if (grid.isObstacle(cell)) {
+                    obstacleCount++;
+                }
+            }
+            Assert.isLegal(obstacleCount == Math.min(obstacles, grid.size() - 2), "Maze should have the requested obstacles");
+            Assert.isLegal(grid.getStartingCell() != grid.getEndingCell(), "Starting and ending point should differ");
+            Assert.isLegal(!grid.isObstacle(grid.getStartingCell()) && !grid.isObstacle(grid.getEndingCell()),
+                    "Starting and ending point should not be obstacles");
+        }
+        for (int[] dimensions : new int[][]{{0, 0}, {0, 5}, {1, 1}, {-1, -2}}) {
+            boolean rejected = false;
+            try {
+                Maze.generate(dimensions[0], dimensions[1], 0, new Random(7));
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            Assert.isLegal(rejected, "Mazes without room for the starting and the ending point should be rejected");
+        }
+        Assert.isLegal(Maze.generate(1, 2, 5, new Random(7)).countObstacles() == 0, "The smallest maze has no room for obstacles");
+        logger.info("Maze generator OK!");
+    }
+
+    @Test
+    void checkTilesReset() {
+        logger.info("Checking tiles reset. . .");
+        AtomicInteger changedCells = new AtomicInteger();
+        AtomicInteger resets = new AtomicInteger();
+        MazeListener previousListener = Maze.getMaze().getListener();
+        try {
+            Maze.getMaze().setListener(new MazeListener() {
+                @Override
+                public void cellChanged(int cell) {
+                    changedCells.incrementAndGet();
+                }
+
+                @Override
+                public void tilesReset() {
+                    resets.incrementAndGet();
+                }
+            });
+            Maze.getMaze().initMaze(Maze.generate(20, 30, 100, new Random(5)));
+            changedCells.set(0);
+            Maze.getMaze().resetTiles();
+            Assert.isLegal(resets.get() == 1, "Resetting the tiles should notify the listener once");
+            Assert.isLegal(changedCells.get() == 0, "Resetting the tiles should not notify every cell");
+        } finally {
+            Maze.getMaze().setListener(previousListener);
+        }
+        logger.info("Tiles reset OK!");
+    }
+
+    @Test
+    void checkMazeFile() throws IOException {
+        logger.info("Checking maze file. . .");
+        Path path = Files.createTempFile("maze", ".bin");
+        try {
+            CellGrid grid = Maze.generate(13, 21, 80, new Random(3));
+            MazeFile.write(path, grid, 3);
+            MazeFile mazeFile = MazeFile.read(path);
+            CellGrid loadedGrid = mazeFile.getGrid();
+            Assert.isLegal(mazeFile.getSeed() == 3, "Seed should be saved");
+            Assert.isLegal(loadedGrid.getRows() == 13 && loadedGrid.getCols() == 21, "Dimensions should be saved");
+            for (int cell = 0; cell < grid.size(); cell++) {
+                Assert.isLegal(grid.getCellType(cell) == loadedGrid.getCellType(cell), "Cells should be saved");
+            }
+            Assert.isLegal(loadedGrid.countObstacles() == 80, "Obstacles should be saved");
+        } finally {
+            Files.delete(path);
+        }
+        // the cell indices would overflow, or the arrays of one entry per cell could not be allocated
+        int[][] tooLarge = {{50000, 50000}, {1, Integer.MAX_VALUE}, {2, CellGrid.MAX_CELLS / 2 + 1}};
+        for (int[] dimensions : tooLarge) {
+            boolean rejected = false;
+            try {
+                new CellGrid(dimensions[0], dimensions[1]);
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            Assert.isLegal(rejected, "Grids with more than MAX_CELLS cells should be rejected");
+        }
+        logger.info("Maze file OK!");
+    }
+
+    @Test
+    void checkAsyncLogHandler() throws InterruptedException {
+        logger.info("Checking asynchronous logging. . .");
+        for (AsyncLogHandler.OverflowPolicy policy : AsyncLogHandler.OverflowPolicy.values()) {
+            AtomicInteger written = new AtomicInteger();
+            Handler sink = new Handler() {
+                @Override
+                public void publish(LogRecord record) {
+                    if (record.getLevel() == Level.FINE) {
+                        written.incrementAndGet();
+                    }
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            AsyncLogHandler handler = new AsyncLogHandler(sink, 16, policy);
+            handler.setLevel(Level.ALL);
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        handler.publish(new LogRecord(Level.FINE, "Moving"));
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            handler.close();
+            Assert.isLegal(written.get() + handler.getDroppedRecords() == 40000, "Every record should be written or counted as dropped");
+            if (policy == AsyncLogHandler.OverflowPolicy.BLOCK) {
+                Assert.isLegal(written.get() == 40000, "No record should be dropped when blocking");
+            }
+        }
+        logger.info("Asynchronous logging OK!");
+    }
+
+    @Test
+    void checkLazyLogging() {
+        logger.info("Checking lazy logging. . .");
+        LoggingController loggingController = LoggingController.getLogger();
+        Logger julLogger = Logger.getLogger(LoggingController.class.getSimpleName());
+        Level previousLevel = julLogger.getLevel();
+        AtomicInteger published = new AtomicInteger();
+        Handler counter = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                published.incrementAndGet();
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        // formatting a message calls toString on its parameters
+        Object unformattable = new Object() {
+            @Override
+            public String toString() {
+                throw new IllegalStateException("Parameters of disabled levels should not be formatted");
+            }
+        };
+        julLogger.addHandler(counter);
+        try {
+            julLogger.setLevel(Level.INFO);
+            Assert.isLegal(!loggingController.isLoggable(Level.FINE), "FINE should be disabled at INFO");
+            loggingController.log(Level.FINE, () -> {
+                throw new IllegalStateException("Messages of disabled levels should not be built");
+            });
+            loggingController.log(Level.FINE, "Moving to {0}", unformattable);
+            loggingController.log(Level.FINEST, "Moving from {0} to {1}", unformattable, unformattable);
+            Assert.isLegal(published.get() == 0, "Records of disabled levels should not be published");
+            AtomicInteger built = new AtomicInteger();
+            loggingController.log(Level.INFO, () -> "Built " + built.incrementAndGet());
+            loggingController.log(Level.INFO, "Reached {0}", 42);
+            Assert.isLegal(built.get() == 1 && published.get() == 2, "Records of enabled levels should be published");
+        } finally {
+            julLogger.removeHandler(counter);
+            julLogger.setLevel(previousLevel);
+        }
+        logger.info("Lazy logging OK!");
+    }
+
     @Test
     void checkSingletons() {
         logger.info("Checking singletons. . .");
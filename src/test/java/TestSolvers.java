@@ -0,0 +1,446 @@
+import net.etravel.com.controllers.Maze;
+import net.etravel.com.controllers.MazeListener;
+import net.etravel.com.controllers.Wanderer;
+import net.etravel.com.properties.PropertyReader;
+import net.etravel.com.solvers.AStarSolver;
+import net.etravel.com.solvers.BidirectionalSolver;
+import net.etravel.com.solvers.BreadthFirstSolver;
+import net.etravel.com.solvers.DepthFirstSearch;
+import net.etravel.com.solvers.Heuristic;
+import net.etravel.com.solvers.JumpPointSolver;
+import net.etravel.com.solvers.MazePreprocessor;
+import net.etravel.com.solvers.OutOfCoreSolver;
+import net.etravel.com.solvers.ParallelPathEnumerator;
+import net.etravel.com.solvers.SolutionExporter;
+import net.etravel.com.solvers.SolutionStore;
+import net.etravel.com.solvers.Solver;
+import net.etravel.com.structure.CellGrid;
+import org.eclipse.core.runtime.Assert;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+public class TestSolvers {
+    Logger logger = Logger.getLogger(TestSolvers.class.getName());
+
+    /**
+     * Creates a random grid without using the Maze singleton (and so without any UI)
+     */
+    private CellGrid randomGrid(Random rand, int rows, int cols, double obstacleRatio) {
+        CellGrid grid = new CellGrid(rows, cols);
+        for (int cell = 0; cell < grid.size(); cell++) {
+            grid.setObstacle(cell, rand.nextDouble() < obstacleRatio);
+        }
+        int start = rand.nextInt(grid.size());
+        int end = rand.nextInt(grid.size() - 1);
+        if (end >= start) {
+            end++;
+        }
+        grid.setObstacle(start, false);
+        grid.setObstacle(end, false);
+        grid.setStartingCell(start);
+        grid.setEndingCell(end);
+        return grid;
+    }
+
+    /**
+     * Creates a grid from rows of characters: S the starting cell, E the ending cell, X an obstacle, any other a tile
+     */
+    private CellGrid gridOf(String... rows) {
+        CellGrid grid = new CellGrid(rows.length, rows[0].length());
+        for (int row = 0; row < rows.length; row++) {
+            for (int col = 0; col < rows[row].length(); col++) {
+                int cell = grid.index(row, col);
+                char c = rows[row].charAt(col);
+                grid.setObstacle(cell, c == 'X');
+                if (c == 'S') {
+                    grid.setStartingCell(cell);
+                } else if (c == 'E') {
+                    grid.setEndingCell(cell);
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * @return every solution of the grid found by the depth-first search, as strings of their cells
+     */
+    private Set<String> solutionSet(CellGrid grid) {
+        Set<String> solutions = new HashSet<>();
+        new DepthFirstSearch(grid).explore(grid.getStartingCell(), new DepthFirstSearch.SearchCallback() {
+            @Override
+            public void onMove(int fromCell, int toCell) {
+            }
+
+            @Override
+            public void onSolution(int[] path, int length) {
+                solutions.add(Arrays.toString(Arrays.copyOf(path, length)));
+            }
+
+            @Override
+            public void onDeadEnd(int cell) {
+            }
+        });
+        return solutions;
+    }
+
+    private void checkPath(CellGrid grid, int[] path) {
+        Assert.isLegal(path[0] == grid.getStartingCell(), "Path should begin from the starting cell");
+        Assert.isLegal(path[path.length - 1] == grid.getEndingCell(), "Path should finish at the ending cell");
+        for (int i = 1; i < path.length; i++) {
+            Assert.isLegal(!grid.isObstacle(path[i]), "Path should not cross obstacles");
+            Assert.isLegal(grid.manhattanDistance(path[i - 1], path[i]) == 1, "Path should only move to neighbours");
+        }
+    }
+
+    @Test
+    void shortestPathSolversAgree() {
+        logger.info("Checking shortest path solvers. . .");
+        Random rand = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            CellGrid grid = randomGrid(rand, 5 + rand.nextInt(40), 5 + rand.nextInt(40), rand.nextDouble() * 0.4);
+            int[] expected = new BreadthFirstSolver().solve(grid);
+            Solver[] solvers = {new AStarSolver(Heuristic.MANHATTAN), new AStarSolver(Heuristic.OCTILE), new AStarSolver(Heuristic.ZERO),
+                    new BidirectionalSolver(), new JumpPointSolver(), new OutOfCoreSolver(), new OutOfCoreSolver(4)};
+            for (Solver solver : solvers) {
+                int[] path = solver.solve(grid);
+                Assert.isLegal(path.length == expected.length, "Solvers should find paths of the same length");
+                if (path.length > 0) {
+                    checkPath(grid, path);
+                }
+            }
+        }
+        logger.info("Shortest path solvers OK!");
+    }
+
+    @Test
+    void solversHandleIncompleteMazes() {
+        CellGrid noEnd = new CellGrid(4, 4);
+        noEnd.setStartingCell(0);
+        CellGrid noStart = new CellGrid(4, 4);
+        noStart.setEndingCell(15);
+        Solver[] solvers = {new BreadthFirstSolver(), new AStarSolver(Heuristic.MANHATTAN), new BidirectionalSolver(), new JumpPointSolver(), new OutOfCoreSolver()};
+        for (Solver solver : solvers) {
+            Assert.isLegal(solver.solve(noEnd).length == 0 && solver.solve(noStart).length == 0,
+                    "Solvers should return an empty path when the starting or the ending point is not set");
+        }
+    }
+
+    @Test
+    void parallelEnumeratorFindsSameSolutions() {
+        logger.info("Checking parallel enumerator. . .");
+        Random rand = new Random(5);
+        for (int i = 0; i < 40; i++) {
+            CellGrid grid = randomGrid(rand, 3 + rand.nextInt(4), 3 + rand.nextInt(4), rand.nextDouble() * 0.3);
+            Set<String> solutions = Collections.synchronizedSet(new HashSet<>());
+            AtomicInteger found = new AtomicInteger();
+            new ParallelPathEnumerator(grid, 1 + rand.nextInt(8)).explore(grid.getStartingCell(), new DepthFirstSearch.SearchCallback() {
+                @Override
+                public void onMove(int fromCell, int toCell) {
+                }
+
+                @Override
+                public void onSolution(int[] path, int length) {
+                    found.incrementAndGet();
+                    solutions.add(Arrays.toString(Arrays.copyOf(path, length)));
+                }
+
+                @Override
+                public void onDeadEnd(int cell) {
+                }
+            });
+            Assert.isLegal(solutions.equals(solutionSet(grid)), "Parallel and sequential searches should find the same solutions");
+            Assert.isLegal(found.get() == solutions.size(), "Each solution should be found once");
+        }
+        logger.info("Parallel enumerator OK!");
+    }
+
+    /**
+     * Counts the events of a search, as the metrics of the wanderer do
+     */
+    private static class CountingCallback implements DepthFirstSearch.SearchCallback {
+        final LongAdder moves = new LongAdder();
+        final LongAdder solutions = new LongAdder();
+        final LongAdder deadEnds = new LongAdder();
+        final LongAdder backtracks = new LongAdder();
+        final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+        @Override
+        public void onMove(int fromCell, int toCell) {
+            moves.increment();
+        }
+
+        @Override
+        public void onSolution(int[] path, int length) {
+            solutions.increment();
+        }
+
+        @Override
+        public void onDeadEnd(int cell) {
+            deadEnds.increment();
+        }
+
+        @Override
+        public void onBacktrack(int cell, int depth) {
+            backtracks.increment();
+            maxDepth.accumulate(depth);
+        }
+    }
+
+    @Test
+    void preprocessorKeepsEverySolution() {
+        logger.info("Checking maze preprocessor. . .");
+        Random rand = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            CellGrid grid = randomGrid(rand, 2 + rand.nextInt(4), 2 + rand.nextInt(4), rand.nextDouble() * 0.5);
+            MazePreprocessor preprocessor = new MazePreprocessor(grid);
+            preprocessor.run();
+            Set<String> expected = solutionSet(grid);
+            Assert.isLegal(preprocessor.isSolvable() == !expected.isEmpty(), "Only mazes with solutions should be solvable");
+            if (preprocessor.isSolvable()) {
+                Assert.isLegal(solutionSet(preprocessor.getSearchGrid()).equals(expected),
+                        "Searching the preprocessed grid should find the same solutions");
+            }
+        }
+        logger.info("Maze preprocessor OK!");
+    }
+
+    /**
+     * @return a grid whose ending cell is walled off, leaving 19 cells reachable from the starting cell
+     */
+    private CellGrid walledOffEndGrid() {
+        return gridOf(
+                "S....",
+                ".....",
+                "...X.",
+                "..XEX",
+                "...X.");
+    }
+
+    @Test
+    void aStarHandlesUnreachableEnd() {
+        CellGrid grid = walledOffEndGrid();
+        for (Heuristic heuristic : Heuristic.values()) {
+            AStarSolver solver = new AStarSolver(heuristic);
+            Assert.isLegal(solver.solve(grid).length == 0, "A* should return an empty path when the end is unreachable");
+            Assert.isLegal(solver.getExpansions() <= 19, "A* should expand only the cells reachable from the start");
+        }
+    }
+
+    @Test
+    void bidirectionalHandlesUnreachableEnd() {
+        BidirectionalSolver solver = new BidirectionalSolver();
+        Assert.isLegal(solver.solve(walledOffEndGrid()).length == 0,
+                "The bidirectional search should return an empty path when the end is unreachable");
+        // the backward frontier runs out as soon as the walled in end is expanded
+        Assert.isLegal(solver.getExpansions() <= 2, "The bidirectional search should stop when one frontier is empty");
+    }
+
+    @Test
+    void jumpPointSearchHandlesUnreachableEnd() {
+        JumpPointSolver solver = new JumpPointSolver();
+        Assert.isLegal(solver.solve(walledOffEndGrid()).length == 0, "JPS should return an empty path when the end is unreachable");
+        Assert.isLegal(solver.getExpansions() <= 19, "JPS should expand only the cells reachable from the start");
+    }
+
+    @Test
+    void preprocessorFindsUnsolvableMazes() {
+        CellGrid grid = walledOffEndGrid();
+        MazePreprocessor preprocessor = new MazePreprocessor(grid);
+        preprocessor.run();
+        Assert.isLegal(!preprocessor.isSolvable(), "A walled off ending cell should not be reachable");
+        Assert.isLegal(preprocessor.getReachableCells() == 19, "Every open cell outside the walls should be reachable");
+    }
+
+    @Test
+    void preprocessorMarksDeadCells() {
+        // a dead-end corridor below (0,1) and a loop attached to the path through (1,3) only
+        CellGrid grid = gridOf(
+                "S...E",
+                "X.X.X",
+                "X.X..",
+                "XXX..");
+        MazePreprocessor preprocessor = new MazePreprocessor(grid);
+        preprocessor.run();
+        Assert.isLegal(preprocessor.isSolvable(), "The maze should be solvable");
+        for (int col = 0; col < 5; col++) {
+            Assert.isLegal(!preprocessor.isDead(grid.index(0, col)), "The cells of the only path should not be dead");
+        }
+        int[][] deadCells = {{1, 1}, {2, 1}, {1, 3}, {2, 3}, {2, 4}, {3, 3}, {3, 4}};
+        for (int[] cell : deadCells) {
+            Assert.isLegal(preprocessor.isDead(grid.index(cell[0], cell[1])), "Cells off the path should be dead");
+        }
+        Assert.isLegal(preprocessor.getUsefulCells() == 5, "Only the cells of the path should be useful");
+    }
+
+    @Test
+    void parallelSearchReportsSameEvents() {
+        logger.info("Checking search events. . .");
+        Random rand = new Random(7);
+        for (int i = 0; i < 30; i++) {
+            CellGrid grid = randomGrid(rand, 3 + rand.nextInt(3), 3 + rand.nextInt(3), 0.2);
+            CountingCallback sequential = new CountingCallback();
+            new DepthFirstSearch(grid).explore(grid.getStartingCell(), sequential);
+            CountingCallback parallel = new CountingCallback();
+            new ParallelPathEnumerator(grid, 4).explore(grid.getStartingCell(), parallel);
+            Assert.isLegal(sequential.moves.sum() == parallel.moves.sum(), "Searches should make the same moves");
+            Assert.isLegal(sequential.solutions.sum() == parallel.solutions.sum(), "Searches should find the same solutions");
+            Assert.isLegal(sequential.deadEnds.sum() == parallel.deadEnds.sum(), "Searches should reach the same dead ends");
+            Assert.isLegal(sequential.backtracks.sum() == parallel.backtracks.sum(), "Searches should backtrack from every cell once");
+            Assert.isLegal(sequential.maxDepth.get() == parallel.maxDepth.get(), "Searches should reach the same depth");
+            // every cell the search moved to is returned from, as well as the starting cell, except the ending cell
+            Assert.isLegal(sequential.backtracks.sum() == sequential.moves.sum() - sequential.solutions.sum() + 1,
+                    "Every cell entered should be backtracked from once");
+        }
+        logger.info("Search events OK!");
+    }
+
+    @Test
+    void solutionStoreKeepsExactPaths() {
+        logger.info("Checking solution store. . .");
+        CellGrid small = new CellGrid(3, 3);
+        small.setStartingCell(0);
+        small.setEndingCell(8);
+        // the solutions branch after their shared prefix 0, 1
+        int[][] branching = {{0, 1, 2, 5, 8}, {0, 1, 4, 5, 8}, {0, 1, 4, 7, 8}, {0, 3, 4, 5, 8}};
+        SolutionStore store = new SolutionStore(small, true);
+        for (int[] solution : branching) {
+            store.accept(solution, solution.length);
+        }
+        Assert.isLegal(store.size() == branching.length, "Every solution should be kept");
+        for (int i = 0; i < branching.length; i++) {
+            Assert.isLegal(Arrays.equals(store.get(i), branching[i]), "Solutions should be rebuilt exactly, in the order they were found");
+            Assert.isLegal(store.length(i) == branching[i].length, "Solutions should keep their length");
+        }
+
+        // thousands of solutions grow the trie far past its initial capacity
+        CellGrid grid = new CellGrid(5, 5);
+        grid.setStartingCell(0);
+        grid.setEndingCell(24);
+        List<int[]> found = new ArrayList<>();
+        SolutionStore keeping = new SolutionStore(grid, true);
+        SolutionStore counting = new SolutionStore(grid, false);
+        new DepthFirstSearch(grid).explore(grid.getStartingCell(), new DepthFirstSearch.SearchCallback() {
+            @Override
+            public void onMove(int fromCell, int toCell) {
+            }
+
+            @Override
+            public void onSolution(int[] path, int length) {
+                found.add(Arrays.copyOf(path, length));
+                keeping.accept(path, length);
+                counting.accept(path, length);
+            }
+
+            @Override
+            public void onDeadEnd(int cell) {
+            }
+        });
+        Assert.isLegal(found.size() > 1000, "The open maze should have thousands of solutions");
+        Assert.isLegal(keeping.size() == found.size() && keeping.getNumberOfSolutions() == found.size(), "Every solution should be kept");
+        for (int i = 0; i < found.size(); i++) {
+            Assert.isLegal(keeping.length(i) == found.get(i).length, "Solutions should keep their length");
+            Assert.isLegal(Arrays.equals(keeping.get(i), found.get(i)), "Solutions should be rebuilt exactly");
+        }
+        AtomicInteger index = new AtomicInteger();
+        keeping.forEach((path, length) -> {
+            int[] expected = found.get(index.getAndIncrement());
+            Assert.isLegal(length == expected.length && Arrays.equals(Arrays.copyOf(path, length), expected),
+                    "forEach should pass the solutions in the order they were found");
+        });
+        Assert.isLegal(index.get() == found.size(), "forEach should pass every solution");
+
+        Assert.isLegal(counting.size() == 0, "Counting should not keep any solution");
+        Assert.isLegal(counting.getNumberOfSolutions() == found.size(), "Counting should count every solution");
+        logger.info("Solution store OK!");
+    }
+
+    @Test
+    void exporterStreamsEverySolution() throws IOException {
+        logger.info("Checking solution exporter. . .");
+        CellGrid grid = new CellGrid(3, 3);
+        grid.setStartingCell(0);
+        grid.setEndingCell(8);
+        int[][] solutions = {{0, 1, 2, 5, 8}, {0, 3, 6, 7, 8}, {0, 1, 4, 5, 8}};
+        for (SolutionExporter.Format format : SolutionExporter.Format.values()) {
+            Path path = Files.createTempFile("solutions", "." + format.name().toLowerCase());
+            try {
+                try (SolutionExporter exporter = new SolutionExporter(grid, path, format)) {
+                    for (int[] solution : solutions) {
+                        exporter.accept(solution, solution.length);
+                    }
+                }
+                if (format == SolutionExporter.Format.TEXT) {
+                    List<String> lines = Files.readAllLines(path);
+                    Assert.isLegal(lines.size() == solutions.length, "Each solution should be a line");
+                    Assert.isLegal(lines.get(1).equals("Number 2 solution: ((S) 0,0), ((T) 1,0), ((T) 2,0), ((T) 2,1), ((E) 2,2)"),
+                            "Solutions should be exported as displayed");
+                } else if (format == SolutionExporter.Format.CSV) {
+                    List<String> lines = Files.readAllLines(path);
+                    Assert.isLegal(lines.size() == 1 + 5 * solutions.length, "Each cell should be a line after the header");
+                    Assert.isLegal(lines.get(7).equals("2,1,1,0"), "Cells should be exported as solution,step,row,col");
+                } else {
+                    Assert.isLegal(Files.size(path) == 8 + solutions.length * 4 * 6, "Each solution should be its length and cells");
+                }
+            } finally {
+                Files.delete(path);
+            }
+        }
+        logger.info("Solution exporter OK!");
+    }
+
+    @Test
+    void explorationFinishesWhenExportFails() throws IOException, InterruptedException {
+        logger.info("Checking failing solution export. . .");
+        CellGrid grid = new CellGrid(5, 5);
+        grid.setStartingCell(0);
+        grid.setEndingCell(24);
+        CountingCallback expected = new CountingCallback();
+        new DepthFirstSearch(grid).explore(grid.getStartingCell(), expected);
+
+        Path path = Files.createTempFile("solutions", ".txt");
+        MazeListener previousListener = Maze.getMaze().getListener();
+        try {
+            // closing the exporter closes its channel, so writing the solutions fails once its buffer is full
+            SolutionExporter exporter = new SolutionExporter(grid, path, SolutionExporter.Format.TEXT);
+            exporter.close();
+            AtomicBoolean finished = new AtomicBoolean(false);
+            Maze.getMaze().setListener(new MazeListener() {
+                @Override
+                public void explorationFinished(boolean foundSolution, SolutionStore solutions, int[] optimalSolution) {
+                    finished.set(true);
+                }
+            });
+            Maze.getMaze().initMaze(grid);
+            Wanderer wanderer = Wanderer.getWanderer();
+            wanderer.reset();
+            wanderer.setSolutionExporter(exporter);
+            wanderer.exploreMaze();
+            wanderer.awaitExploration();
+            Assert.isLegal(finished.get(), "Observers should be notified when the export fails");
+            if (Wanderer.SOLVER_MODE_ALL.equalsIgnoreCase(PropertyReader.getInstance().getProperty("solver_mode", Wanderer.SOLVER_MODE_ALL).trim())) {
+                Assert.isLegal(wanderer.getNumberOfSolutions() == expected.solutions.sum(), "The exploration should go on without the export");
+            }
+        } finally {
+            Maze.getMaze().setListener(previousListener);
+            Files.delete(path);
+        }
+        logger.info("Failing solution export OK!");
+    }
+
+}